@@ -0,0 +1,132 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import net.logstash.logback.composite.ContextJsonProvider;
+import net.logstash.logback.composite.loggingevent.ArgumentsJsonProvider;
+import net.logstash.logback.composite.loggingevent.LogLevelJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders;
+import net.logstash.logback.composite.loggingevent.LoggingEventThreadNameJsonProvider;
+import net.logstash.logback.composite.loggingevent.MdcJsonProvider;
+import net.logstash.logback.composite.loggingevent.MessageJsonProvider;
+import net.logstash.logback.composite.loggingevent.StackTraceJsonProvider;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Compares the logstash composite encoder as configured in logback-spring.xml (formatted message
+// plus arguments/mdc/context providers) with the purpose-built AccessLogJsonEncoder.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessLogEncoderBenchmark {
+
+    private static final String MESSAGE =
+        "http_request service={} version={} method={} path={} rawPath={} status={} ip={} latencyMs={} userAgent=\"{}\"";
+
+    private static final String USER_AGENT =
+        "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36";
+
+    private LoggerContext loggerContext;
+    private Logger httpLogger;
+    private LoggingEventCompositeJsonEncoder logstashEncoder;
+
+    private AccessLogJsonEncoder accessLogEncoder;
+    private AccessLogEntry entry;
+    private OutputStream sink;
+
+    @Setup
+    public void setUp() {
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        httpLogger = loggerContext.getLogger("http");
+
+        LoggingEventJsonProviders providers = new LoggingEventJsonProviders();
+        providers.addTimestamp(new LoggingEventFormattedTimestampJsonProvider());
+        providers.addLogLevel(new LogLevelJsonProvider());
+        providers.addThreadName(new LoggingEventThreadNameJsonProvider());
+        providers.addLoggerName(new LoggerNameJsonProvider());
+        providers.addMessage(new MessageJsonProvider());
+        providers.addArguments(new ArgumentsJsonProvider());
+        providers.addMdc(new MdcJsonProvider());
+        providers.addProvider(new ContextJsonProvider<>());
+        providers.addStackTrace(new StackTraceJsonProvider());
+
+        logstashEncoder = new LoggingEventCompositeJsonEncoder();
+        logstashEncoder.setContext(loggerContext);
+        logstashEncoder.setProviders(providers);
+        logstashEncoder.start();
+
+        accessLogEncoder = new AccessLogJsonEncoder("java-springboot-app", "1.0.0");
+        entry = new AccessLogEntry();
+        sink = OutputStream.nullOutputStream();
+    }
+
+    @TearDown
+    public void tearDown() {
+        logstashEncoder.stop();
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public byte[] logstashCompositeEncoder() {
+        LoggingEvent event = new LoggingEvent(
+            Logger.class.getName(),
+            httpLogger,
+            Level.INFO,
+            MESSAGE,
+            null,
+            new Object[] {
+                "java-springboot-app",
+                "1.0.0",
+                "GET",
+                "/info",
+                "/info",
+                200,
+                "172.17.0.1",
+                24L,
+                USER_AGENT
+            }
+        );
+        return logstashEncoder.encode(event);
+    }
+
+    @Benchmark
+    public void accessLogJsonEncoder(Blackhole blackhole) throws IOException {
+        entry.set(
+            System.currentTimeMillis(),
+            "tomcat-handler-5",
+            "GET",
+            "/info",
+            "/info",
+            200,
+            "172.17.0.1",
+            24_000_000L,
+            USER_AGENT
+        );
+        accessLogEncoder.encode(entry, sink);
+        blackhole.consume(entry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// HttpServerMetrics.record against a Prometheus registry configured like the application's
+// (percentile histogram, 1ms..1min). "keys" is the number of distinct method/path/status
+// combinations cycled through; "route" resolves through the route table, "unmatched" through
+// the bounded fallback map.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpServerMetricsBenchmark {
+
+    private static final String[] METHODS = { "GET", "POST", "PUT", "DELETE" };
+    private static final int[] STATUSES = { 200, 201, 404, 500 };
+
+    @Param({ "1", "10", "100", "1000" })
+    int keys;
+
+    @Param({ "route", "unmatched" })
+    String lookup;
+
+    HttpServerMetrics metrics;
+    String[] methods;
+    String[] paths;
+    int[] statuses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        metrics = new HttpServerMetrics(
+            registry,
+            HttpLatencyHistograms.classic(registry, "http_request_duration_seconds"),
+            "http_requests_total",
+            keys,
+            Duration.ofMinutes(10)
+        );
+
+        int pathCount = Math.max(1, keys / (METHODS.length * STATUSES.length));
+        List<String> routes = new ArrayList<>();
+        for (int i = 0; i < pathCount; i++) {
+            routes.add("/api/resource-" + i);
+        }
+        metrics.registerRoutes(routes);
+
+        methods = new String[keys];
+        paths = new String[keys];
+        statuses = new int[keys];
+        for (int i = 0; i < keys; i++) {
+            methods[i] = METHODS[i % METHODS.length];
+            statuses[i] = STATUSES[(i / METHODS.length) % STATUSES.length];
+            int path = (i / (METHODS.length * STATUSES.length)) % pathCount;
+            paths[i] = "route".equals(lookup) ? routes.get(path) : "/unmatched/" + i;
+            metrics.record(methods[i], paths[i], statuses[i], 1_000_000L);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void record1Thread(Cursor cursor) {
+        record(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record4Threads(Cursor cursor) {
+        record(cursor);
+    }
+
+    private void record(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = (i + 1 == keys) ? 0 : i + 1;
+        metrics.record(methods[i], paths[i], statuses[i], 2_500_000L);
+    }
+}
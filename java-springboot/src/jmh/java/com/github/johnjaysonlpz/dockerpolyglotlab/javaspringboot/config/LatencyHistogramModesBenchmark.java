@@ -0,0 +1,149 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of each app.metrics.histogram.mode for "routes" routes x 4 statuses, each series fed
+// log-uniform latencies between 1ms and 2s. Besides the timings, every trial prints a "footprint"
+// line: retained heap per series (measured around forced GCs, so including the request counter
+// that every mode keeps) and the size of one text / protobuf scrape of the latency family.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyHistogramModesBenchmark {
+
+    private static final String TEXT = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String PROTOBUF =
+        "application/vnd.google.protobuf; proto=io.prometheus.client.MetricFamily; encoding=delimited";
+    private static final int[] STATUSES = { 200, 304, 404, 500 };
+    private static final int SAMPLES_PER_SERIES = 1_000;
+
+    @Param({ "CLASSIC", "SLO", "NATIVE", "NONE" })
+    HttpLatencyHistograms.Mode mode;
+
+    @Param({ "25" })
+    int routes;
+
+    PrometheusMeterRegistry registry;
+    HttpServerMetrics metrics;
+    String[] paths;
+    long[] latencies;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        paths = new String[routes];
+        for (int i = 0; i < routes; i++) {
+            paths[i] = "/api/resource-" + i;
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        latencies = new long[4096];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (long) (1_000_000 * Math.pow(2_000, random.nextDouble()));
+        }
+
+        long before = usedHeap();
+        build();
+        long after = usedHeap();
+
+        System.out.printf(
+            "%nfootprint mode=%s heapBytesPerSeries=%d textBytes=%d protobufBytes=%d%n",
+            mode,
+            (after - before) / ((long) routes * STATUSES.length),
+            latencyFamilySize(TEXT),
+            latencyFamilySize(PROTOBUF)
+        );
+    }
+
+    private void build() {
+        PrometheusRegistry prometheusRegistry = new PrometheusRegistry();
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, prometheusRegistry, Clock.SYSTEM);
+        ServiceProperties.Metrics.Histogram config = new ServiceProperties.Metrics.Histogram();
+
+        HttpLatencyHistograms histograms = new HttpLatencyHistograms(
+            registry,
+            prometheusRegistry,
+            "http_request_duration_seconds",
+            Tags.of("service", "bench", "version", "1"),
+            config.getNativeMaxBuckets(),
+            new HttpLatencyHistograms.Route(mode, List.copyOf(config.getSloBuckets())),
+            Map.of()
+        );
+        metrics = new HttpServerMetrics(registry, histograms, "http_requests_total", 100, Duration.ofMinutes(10));
+        metrics.registerRoutes(List.of(paths));
+
+        for (String path : paths) {
+            for (int status : STATUSES) {
+                for (int i = 0; i < SAMPLES_PER_SERIES; i++) {
+                    metrics.record("GET", path, status, latencies[i % latencies.length]);
+                }
+            }
+        }
+    }
+
+    private long latencyFamilySize(String contentType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        registry.scrape(out, contentType, Set.of(
+            "http_request_duration_seconds",
+            "http_request_duration_seconds_max"
+        ));
+        return out.size();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, memory.getHeapMemoryUsage().getUsed());
+        }
+        return used;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void record() {
+        int i = next++;
+        metrics.record("GET", paths[i % routes], STATUSES[i & 3], latencies[i & (latencies.length - 1)]);
+    }
+
+    @Benchmark
+    public void scrapeText() throws IOException {
+        registry.scrape(OutputStream.nullOutputStream(), TEXT);
+    }
+
+    @Benchmark
+    public void scrapeProtobuf() throws IOException {
+        registry.scrape(OutputStream.nullOutputStream(), PROTOBUF);
+    }
+}
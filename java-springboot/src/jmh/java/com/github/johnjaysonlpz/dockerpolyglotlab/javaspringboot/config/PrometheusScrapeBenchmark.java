@@ -0,0 +1,70 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full text-format scrape with "series" counter series plus "series / 10" timers, mirroring the
+// http_requests_total / http_request_duration_seconds pair the filter maintains.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrometheusScrapeBenchmark {
+
+    private static final String TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Param({ "10", "100", "1000" })
+    int series;
+
+    PrometheusMeterRegistry registry;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        for (int i = 0; i < series; i++) {
+            Counter.builder("http_requests_total")
+                .tag("method", "GET")
+                .tag("path", "/api/resource-" + i)
+                .tag("status", "2xx")
+                .register(registry)
+                .increment(i);
+        }
+        for (int i = 0; i < Math.max(1, series / 10); i++) {
+            Timer.builder("http_request_duration_seconds")
+                .tag("method", "GET")
+                .tag("path", "/api/resource-" + i)
+                .tag("status", "2xx")
+                .register(registry)
+                .record(i + 1, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Benchmark
+    public String scrapeToString() {
+        return registry.scrape();
+    }
+
+    @Benchmark
+    public void scrapeToStream() throws IOException {
+        registry.scrape(OutputStream.nullOutputStream(), TEXT);
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Every thread records into the same hot series (GET /info 200, classic buckets), the case where
+// shared Micrometer meters contend on the counter, the bucket counts and the max. Compare
+// recording=MICROMETER and STRIPED across thread counts; -t runs other counts, and the numbers only
+// mean something with at least that many cores. "scrape" is the merge cost on the collecting side.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StripedRecordingBenchmark {
+
+    public enum Recording {
+        MICROMETER,
+        STRIPED
+    }
+
+    @Param({ "MICROMETER", "STRIPED" })
+    Recording recording;
+
+    PrometheusMeterRegistry registry;
+    HttpServerMetrics metrics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PrometheusRegistry prometheusRegistry = new PrometheusRegistry();
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, prometheusRegistry, Clock.SYSTEM);
+        Tags commonTags = Tags.of("service", "bench", "version", "1");
+        registry.config().commonTags(commonTags);
+
+        HttpLatencyHistograms histograms = new HttpLatencyHistograms(
+            registry,
+            prometheusRegistry,
+            "http_request_duration_seconds",
+            commonTags,
+            160,
+            new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.CLASSIC, List.of()),
+            Map.of()
+        );
+        StripedHttpSeries striped = (recording == Recording.STRIPED)
+            ? new StripedHttpSeries(
+                prometheusRegistry,
+                "http_requests_total",
+                HttpServerMetrics.REQUESTS_DESCRIPTION,
+                "http_request_duration_seconds",
+                commonTags,
+                Runtime.getRuntime().availableProcessors(),
+                Clock.SYSTEM)
+            : null;
+        metrics = new HttpServerMetrics(
+            registry, histograms, striped, "http_requests_total", 100, Duration.ofMinutes(10));
+        metrics.registerRoutes(List.of("/", "/info"));
+    }
+
+    @State(Scope.Thread)
+    public static class Latency {
+        long next = 2_000_000L;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void record1Thread(Latency latency) {
+        record(latency);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record4Threads(Latency latency) {
+        record(latency);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void record16Threads(Latency latency) {
+        record(latency);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void scrape() throws IOException {
+        registry.scrape(OutputStream.nullOutputStream(), "text/plain; version=0.0.4; charset=utf-8");
+    }
+
+    // Walks 2ms..3ms, a handful of hot buckets, like a steady route.
+    private void record(Latency latency) {
+        long nanos = latency.next;
+        latency.next = (nanos >= 3_000_000L) ? 2_000_000L : nanos + 7_919L;
+        metrics.record("GET", "/info", 200, nanos);
+    }
+}
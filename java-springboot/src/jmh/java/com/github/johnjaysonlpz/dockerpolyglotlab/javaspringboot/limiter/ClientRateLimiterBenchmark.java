@@ -0,0 +1,65 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of admitting a client that is under its rate: hash, set scan and one CAS. "clients" spreads
+// the threads over that many keys, so 1 measures contention on a single bucket.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientRateLimiterBenchmark {
+
+    @Param({ "1", "1000" })
+    int clients;
+
+    ClientRateLimiter limiter;
+    String[] keys;
+
+    @Setup
+    public void setUp() {
+        limiter = new ClientRateLimiter(
+            Long.MAX_VALUE / 2, Duration.ofSeconds(1), 1_000_000, 65536, new SimpleMeterRegistry()
+        );
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        // Threads start at different keys instead of walking the table in lockstep.
+        int next = ThreadLocalRandom.current().nextInt(1 << 20);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long tryAcquire(Cursor cursor) {
+        return limiter.tryAcquire(keys[cursor.next++ % clients]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tryAcquireContended(Cursor cursor) {
+        return limiter.tryAcquire(keys[cursor.next++ % clients]);
+    }
+}
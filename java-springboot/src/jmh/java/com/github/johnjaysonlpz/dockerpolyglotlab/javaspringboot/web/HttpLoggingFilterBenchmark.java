@@ -0,0 +1,148 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogEntry;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogPipeline;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSampler;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSink;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.HttpLatencyHistograms;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.HttpServerMetrics;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.RequestPhaseMetrics;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.GradientConcurrencyLimiter;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats.RollingLatencyStats;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupTraffic;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+// One pass through HttpLoggingFilter.doFilterInternal with a chain that only sets the status:
+// timing, route-indexed metrics, sampling and the hand-off to the access-log ring buffer
+// (drained into a discarding sink). "/health" takes the infra path that skips the access log.
+// accounting=1.0 measures CPU time and allocation of every request (inline: JMH threads are
+// platform threads). phases=true adds what ConnectorStartValve and ResponseWriteMarker do per
+// request and the three phase timers.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HttpLoggingFilterBenchmark {
+
+    @Param({ "/info", "/health" })
+    String path;
+
+    @Param({ "OFF", "RATE" })
+    AccessLogSampler.Mode sampling;
+
+    @Param({ "0.0", "1.0" })
+    double accounting;
+
+    @Param({ "false", "true" })
+    boolean phases;
+
+    private AccessLogPipeline pipeline;
+    private HttpLoggingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        HttpServerMetrics metrics = new HttpServerMetrics(
+            registry,
+            HttpLatencyHistograms.classic(registry, "http_request_duration_seconds"),
+            "http_requests_total",
+            100,
+            Duration.ofMinutes(10)
+        );
+        metrics.registerRoutes(List.of("/", "/info", "/health", "/ready", "/metrics"));
+
+        pipeline = new AccessLogPipeline(
+            new DiscardingSink(),
+            8192,
+            256,
+            AccessLogPipeline.OverflowPolicy.DROP,
+            registry
+        );
+        pipeline.start();
+
+        AccessLogSampler sampler = new AccessLogSampler(sampling, Duration.ofMillis(500), 0.1, 1000, registry);
+        GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+            200, 20, 2000, 1.5, 0.2, Duration.ofSeconds(1), registry
+        );
+        RollingLatencyStats stats = new RollingLatencyStats(true, Duration.ofSeconds(5), 2);
+        stats.registerRoutes(List.of("/", "/info", "/health", "/ready", "/metrics"));
+        ServiceProperties props = new ServiceProperties();
+        props.getRequestAccounting().setEnabled(accounting > 0);
+        props.getRequestAccounting().setSampleRate(accounting);
+        props.getRequestPhases().setEnabled(phases);
+        filter = new HttpLoggingFilter(
+            metrics,
+            stats,
+            pipeline,
+            sampler,
+            limiter,
+            new WarmupTraffic(metrics),
+            new RequestAccounting(props, registry),
+            new RequestPhaseMetrics(registry.getPrometheusRegistry(), Tags.empty(), props.getRequestPhases())
+        );
+
+        request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("172.17.0.1");
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) jmh");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> {
+            ((HttpServletResponse) res).setStatus(200);
+            RequestPhases.markWriteStart(req);
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws ServletException, IOException {
+        if (phases) {
+            request.setAttribute(RequestPhases.ATTRIBUTE, new RequestPhases(System.nanoTime()));
+        }
+        filter.doFilterInternal(request, response, chain);
+    }
+
+    private static final class DiscardingSink implements AccessLogSink {
+        @Override
+        public void append(AccessLogEntry entry) {
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
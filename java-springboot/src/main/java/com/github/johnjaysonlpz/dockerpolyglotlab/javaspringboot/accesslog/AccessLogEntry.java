@@ -0,0 +1,119 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+public final class AccessLogEntry {
+
+    private long timestampMillis;
+    private String threadName;
+    private String method;
+    private String path;
+    private String rawPath;
+    private int status;
+    private String ip;
+    private long latencyNanos;
+    private String userAgent;
+    private long cpuNanos = -1;
+    private long allocatedBytes = -1;
+    private long queueNanos = -1;
+    private long handlerNanos = -1;
+    private long writeNanos = -1;
+
+    void set(
+        long timestampMillis,
+        String threadName,
+        String method,
+        String path,
+        String rawPath,
+        int status,
+        String ip,
+        long latencyNanos,
+        String userAgent
+    ) {
+        this.timestampMillis = timestampMillis;
+        this.threadName = threadName;
+        this.method = method;
+        this.path = path;
+        this.rawPath = rawPath;
+        this.status = status;
+        this.ip = ip;
+        this.latencyNanos = latencyNanos;
+        this.userAgent = userAgent;
+        this.cpuNanos = -1;
+        this.allocatedBytes = -1;
+        this.queueNanos = -1;
+        this.handlerNanos = -1;
+        this.writeNanos = -1;
+    }
+
+    // Only requests sampled by request accounting carry these; -1 otherwise.
+    void setUsage(long cpuNanos, long allocatedBytes) {
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    // Only with app.request-phases.access-log; -1 for a phase that was not measured.
+    void setPhases(long queueNanos, long handlerNanos, long writeNanos) {
+        this.queueNanos = queueNanos;
+        this.handlerNanos = handlerNanos;
+        this.writeNanos = writeNanos;
+    }
+
+    void clear() {
+        set(0L, null, null, null, null, 0, null, 0L, null);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getRawPath() {
+        return rawPath;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getIp() {
+        return ip;
+    }
+
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    public long getHandlerNanos() {
+        return handlerNanos;
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+}
@@ -0,0 +1,276 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+// Writes one access-log entry as a single JSON line, field by field, into a reusable per-thread
+// buffer. Top-level keys match the logstash console layout so log shippers see the same shape.
+public final class AccessLogJsonEncoder {
+
+    private static final ThreadLocal<Buffer> BUFFERS = ThreadLocal.withInitial(() -> new Buffer(1024));
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] TIMESTAMP = ascii("{\"@timestamp\":\"");
+    private static final byte[] LEVEL = ascii("\",\"level\":\"INFO\",\"thread_name\":");
+    private static final byte[] LOGGER = ascii(",\"logger_name\":\"http\",\"message\":\"http_request\",\"service\":");
+    private static final byte[] VERSION = ascii(",\"version\":");
+    private static final byte[] METHOD = ascii(",\"method\":");
+    private static final byte[] PATH = ascii(",\"path\":");
+    private static final byte[] RAW_PATH = ascii(",\"rawPath\":");
+    private static final byte[] STATUS = ascii(",\"status\":");
+    private static final byte[] IP = ascii(",\"ip\":");
+    private static final byte[] LATENCY = ascii(",\"latencyMs\":");
+    private static final byte[] CPU = ascii(",\"cpuMicros\":");
+    private static final byte[] ALLOCATED = ascii(",\"allocatedBytes\":");
+    private static final byte[] QUEUE = ascii(",\"queueMicros\":");
+    private static final byte[] HANDLER = ascii(",\"handlerMicros\":");
+    private static final byte[] WRITE = ascii(",\"writeMicros\":");
+    private static final byte[] USER_AGENT = ascii(",\"userAgent\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] END = ascii("}\n");
+
+    private final byte[] serviceName;
+    private final byte[] version;
+
+    public AccessLogJsonEncoder(String serviceName, String version) {
+        Buffer buffer = new Buffer(64);
+        buffer.string(serviceName);
+        this.serviceName = buffer.toByteArray();
+        buffer.reset();
+        buffer.string(version);
+        this.version = buffer.toByteArray();
+    }
+
+    // Receives one encoded line per call. The bytes belong to the encoder's per-thread buffer and
+    // are only valid until the call returns.
+    @FunctionalInterface
+    public interface LineSink {
+
+        void write(byte[] line, int offset, int length) throws IOException;
+    }
+
+    public void encode(AccessLogEntry entry, OutputStream out) throws IOException {
+        Buffer buffer = BUFFERS.get();
+        buffer.reset();
+        write(entry, buffer);
+        out.write(buffer.bytes, 0, buffer.size);
+    }
+
+    public void encode(AccessLogEntry entry, LineSink sink) throws IOException {
+        Buffer buffer = BUFFERS.get();
+        buffer.reset();
+        write(entry, buffer);
+        sink.write(buffer.bytes, 0, buffer.size);
+    }
+
+    public byte[] encode(AccessLogEntry entry) {
+        Buffer buffer = new Buffer(512);
+        write(entry, buffer);
+        return buffer.toByteArray();
+    }
+
+    private void write(AccessLogEntry entry, Buffer buffer) {
+        buffer.raw(TIMESTAMP);
+        buffer.timestamp(entry.getTimestampMillis());
+        buffer.raw(LEVEL);
+        buffer.string(entry.getThreadName());
+        buffer.raw(LOGGER);
+        buffer.raw(serviceName);
+        buffer.raw(VERSION);
+        buffer.raw(version);
+        buffer.raw(METHOD);
+        buffer.string(entry.getMethod());
+        buffer.raw(PATH);
+        buffer.string(entry.getPath());
+        buffer.raw(RAW_PATH);
+        buffer.string(entry.getRawPath());
+        buffer.raw(STATUS);
+        buffer.number(entry.getStatus());
+        buffer.raw(IP);
+        buffer.string(entry.getIp());
+        buffer.raw(LATENCY);
+        buffer.number(TimeUnit.NANOSECONDS.toMillis(entry.getLatencyNanos()));
+        if (entry.getCpuNanos() >= 0) {
+            buffer.raw(CPU);
+            buffer.number(TimeUnit.NANOSECONDS.toMicros(entry.getCpuNanos()));
+        }
+        if (entry.getAllocatedBytes() >= 0) {
+            buffer.raw(ALLOCATED);
+            buffer.number(entry.getAllocatedBytes());
+        }
+        if (entry.getQueueNanos() >= 0) {
+            buffer.raw(QUEUE);
+            buffer.number(TimeUnit.NANOSECONDS.toMicros(entry.getQueueNanos()));
+        }
+        if (entry.getHandlerNanos() >= 0) {
+            buffer.raw(HANDLER);
+            buffer.number(TimeUnit.NANOSECONDS.toMicros(entry.getHandlerNanos()));
+        }
+        if (entry.getWriteNanos() >= 0) {
+            buffer.raw(WRITE);
+            buffer.number(TimeUnit.NANOSECONDS.toMicros(entry.getWriteNanos()));
+        }
+        buffer.raw(USER_AGENT);
+        buffer.string(entry.getUserAgent());
+        buffer.raw(END);
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static final class Buffer {
+        byte[] bytes;
+        int size;
+
+        Buffer(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void raw(byte[] value) {
+            ensure(value.length);
+            System.arraycopy(value, 0, bytes, size, value.length);
+            size += value.length;
+        }
+
+        void put(int b) {
+            bytes[size++] = (byte) b;
+        }
+
+        void number(long value) {
+            ensure(20);
+            if (value < 0) {
+                put('-');
+                value = -value;
+            }
+            int start = size;
+            do {
+                put('0' + (int) (value % 10));
+                value /= 10;
+            } while (value != 0);
+            for (int i = start, j = size - 1; i < j; i++, j--) {
+                byte tmp = bytes[i];
+                bytes[i] = bytes[j];
+                bytes[j] = tmp;
+            }
+        }
+
+        private void digits(int value, int width) {
+            for (int i = width - 1; i >= 0; i--) {
+                bytes[size + i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            size += width;
+        }
+
+        // ISO-8601 UTC with millisecond precision, e.g. 2025-12-15T19:17:10.943Z.
+        void timestamp(long epochMillis) {
+            ensure(24);
+            long epochDay = Math.floorDiv(epochMillis, 86_400_000L);
+            int millisOfDay = (int) Math.floorMod(epochMillis, 86_400_000L);
+
+            // Civil-from-days conversion for the proleptic Gregorian calendar.
+            long z = epochDay + 719_468;
+            long era = Math.floorDiv(z, 146_097);
+            long dayOfEra = z - era * 146_097;
+            long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+            long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+            long mp = (5 * dayOfYear + 2) / 153;
+            int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+            int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+            int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+            digits(year, 4);
+            put('-');
+            digits(month, 2);
+            put('-');
+            digits(day, 2);
+            put('T');
+            digits(millisOfDay / 3_600_000, 2);
+            put(':');
+            digits(millisOfDay / 60_000 % 60, 2);
+            put(':');
+            digits(millisOfDay / 1000 % 60, 2);
+            put('.');
+            digits(millisOfDay % 1000, 3);
+            put('Z');
+        }
+
+        void string(String value) {
+            if (value == null) {
+                raw(NULL);
+                return;
+            }
+            int length = value.length();
+            ensure(length * 6 + 2);
+            put('"');
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        put('\\');
+                        put(c);
+                    } else if (c >= 0x20) {
+                        put(c);
+                    } else {
+                        escapeControl(c);
+                    }
+                } else if (c < 0x800) {
+                    put(0xC0 | (c >> 6));
+                    put(0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c)
+                    && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    put(0xF0 | (codePoint >> 18));
+                    put(0x80 | ((codePoint >> 12) & 0x3F));
+                    put(0x80 | ((codePoint >> 6) & 0x3F));
+                    put(0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    put('?');
+                } else {
+                    put(0xE0 | (c >> 12));
+                    put(0x80 | ((c >> 6) & 0x3F));
+                    put(0x80 | (c & 0x3F));
+                }
+            }
+            put('"');
+        }
+
+        private void escapeControl(char c) {
+            put('\\');
+            switch (c) {
+                case '\n' -> put('n');
+                case '\r' -> put('r');
+                case '\t' -> put('t');
+                case '\b' -> put('b');
+                case '\f' -> put('f');
+                default -> {
+                    put('u');
+                    put('0');
+                    put('0');
+                    put(HEX[(c >> 4) & 0xF]);
+                    put(HEX[c & 0xF]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+public class AccessLogPipeline implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLogPipeline.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
+    private final AccessLogRingBuffer ring;
+    private final AccessLogSink sink;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+
+    private final Counter dropped;
+    private final Counter sinkErrors;
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+    private volatile Thread consumer;
+
+    public AccessLogPipeline(
+        AccessLogSink sink,
+        int capacity,
+        int batchSize,
+        OverflowPolicy overflowPolicy,
+        MeterRegistry registry
+    ) {
+        this.ring = new AccessLogRingBuffer(capacity);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+
+        Gauge.builder("access_log_queue_depth", ring, AccessLogRingBuffer::size)
+            .description("Access log entries waiting to be written.")
+            .register(registry);
+
+        Gauge.builder("access_log_queue_capacity", ring, AccessLogRingBuffer::capacity)
+            .description("Capacity of the access log ring buffer.")
+            .register(registry);
+
+        this.dropped = Counter.builder("access_log_dropped_total")
+            .description("Access log entries dropped because the ring buffer was full.")
+            .register(registry);
+
+        this.sinkErrors = Counter.builder("access_log_sink_errors_total")
+            .description("Access log entries or batches the sink failed to write.")
+            .register(registry);
+
+        this.batchSizes = DistributionSummary.builder("access_log_batch_size")
+            .description("Number of access log entries written per batch.")
+            .register(registry);
+    }
+
+    public void publish(
+        String method,
+        String path,
+        String rawPath,
+        int status,
+        String ip,
+        long latencyNanos,
+        String userAgent
+    ) {
+        publish(method, path, rawPath, status, ip, latencyNanos, userAgent, -1, -1, -1, -1, -1);
+    }
+
+    public void publish(
+        String method,
+        String path,
+        String rawPath,
+        int status,
+        String ip,
+        long latencyNanos,
+        String userAgent,
+        long cpuNanos,
+        long allocatedBytes,
+        long queueNanos,
+        long handlerNanos,
+        long writeNanos
+    ) {
+        long position = ring.claim();
+        while (position < 0) {
+            if (overflowPolicy == OverflowPolicy.DROP || !running) {
+                dropped.increment();
+                return;
+            }
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            position = ring.claim();
+        }
+
+        AccessLogEntry entry = ring.entry(position);
+        entry.set(
+            System.currentTimeMillis(),
+            Thread.currentThread().getName(),
+            method,
+            path,
+            rawPath,
+            status,
+            ip,
+            latencyNanos,
+            userAgent
+        );
+        entry.setUsage(cpuNanos, allocatedBytes);
+        entry.setPhases(queueNanos, handlerNanos, writeNanos);
+        ring.publish(position);
+
+        if (consumerParked) {
+            consumerParked = false;
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public int queueDepth() {
+        return ring.size();
+    }
+
+    private void consume() {
+        while (running) {
+            if (drainBatch() == 0) {
+                consumerParked = true;
+                if (ring.peek() == null && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerParked = false;
+            }
+        }
+        while (drainBatch() > 0) {
+            // Write whatever was published before stop().
+        }
+    }
+
+    private int drainBatch() {
+        int written = 0;
+        AccessLogEntry entry;
+        while (written < batchSize && (entry = ring.peek()) != null) {
+            try {
+                sink.append(entry);
+            } catch (IOException | RuntimeException ex) {
+                sinkErrors.increment();
+                log.debug("access_log_append_failed error={}", ex.toString());
+            }
+            ring.release();
+            written++;
+        }
+
+        if (written > 0) {
+            try {
+                sink.flush();
+            } catch (IOException | RuntimeException ex) {
+                sinkErrors.increment();
+                log.debug("access_log_flush_failed error={}", ex.toString());
+            }
+            batchSizes.record(written);
+        }
+        return written;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::consume, "access-log-writer");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = consumer;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the embedded web server, so in-flight requests can still log.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer/single-consumer ring of preallocated entries. Each slot carries a
+// sequence number: producers claim a position with a CAS on the tail and publish by advancing
+// the slot sequence; the single consumer reads in order and hands the slot back one lap ahead.
+final class AccessLogRingBuffer {
+
+    private final AccessLogEntry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AccessLogRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.entries = new AccessLogEntry[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new AccessLogEntry();
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    int size() {
+        return (int) Math.max(0L, tail.get() - head.get());
+    }
+
+    // Returns the claimed position, or -1 when the ring is full.
+    long claim() {
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.get((int) position & mask);
+            long difference = sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return -1L;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    AccessLogEntry entry(long position) {
+        return entries[(int) position & mask];
+    }
+
+    void publish(long position) {
+        sequences.setRelease((int) position & mask, position + 1);
+    }
+
+    // Consumer side only.
+    AccessLogEntry peek() {
+        long position = head.get();
+        int index = (int) position & mask;
+        if (sequences.getAcquire(index) != position + 1) {
+            return null;
+        }
+        return entries[index];
+    }
+
+    // Consumer side only; frees the entry last returned by peek().
+    void release() {
+        long position = head.get();
+        int index = (int) position & mask;
+        entries[index].clear();
+        sequences.setRelease(index, position + entries.length);
+        head.lazySet(position + 1);
+    }
+}
@@ -0,0 +1,166 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Decides which requests reach the access log. 5xx and slow requests are always kept. In RATE
+// mode 2xx responses are kept at a fixed fraction per route; ADAPTIVE additionally lowers that
+// fraction to fit a lines-per-second budget and stops everything but 5xx/slow once the current
+// second's budget is spent. Suppressed lines are counted per route and reported by logSummary().
+public class AccessLogSampler {
+
+    public enum Mode {
+        OFF,
+        RATE,
+        ADAPTIVE
+    }
+
+    private static final Logger log = LoggerFactory.getLogger("http");
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Mode mode;
+    private final long slowThresholdNanos;
+    private final double successRate;
+    private final long maxLinesPerSecond;
+    private final MeterRegistry registry;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, RouteState> routes = new ConcurrentHashMap<>();
+
+    private final AtomicLong windowStart;
+    private final AtomicLong tokens;
+    private final LongAdder windowRequests = new LongAdder();
+    private volatile double adaptiveRate = 1.0;
+
+    public AccessLogSampler(
+        Mode mode,
+        Duration slowThreshold,
+        double successRate,
+        long maxLinesPerSecond,
+        MeterRegistry registry
+    ) {
+        this(mode, slowThreshold, successRate, maxLinesPerSecond, registry, System::nanoTime);
+    }
+
+    AccessLogSampler(
+        Mode mode,
+        Duration slowThreshold,
+        double successRate,
+        long maxLinesPerSecond,
+        MeterRegistry registry,
+        LongSupplier nanoClock
+    ) {
+        this.mode = mode;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.successRate = successRate;
+        this.maxLinesPerSecond = maxLinesPerSecond;
+        this.registry = registry;
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+        this.tokens = new AtomicLong(maxLinesPerSecond);
+    }
+
+    public boolean shouldLog(String route, int status, long latencyNanos) {
+        if (mode == Mode.OFF) {
+            return true;
+        }
+
+        boolean adaptive = mode == Mode.ADAPTIVE;
+        if (adaptive) {
+            rollWindow();
+            windowRequests.increment();
+        }
+
+        if (status >= 500 || latencyNanos >= slowThresholdNanos) {
+            if (adaptive) {
+                tokens.decrementAndGet();
+            }
+            return true;
+        }
+
+        RouteState state = routes.computeIfAbsent(route, this::newRouteState);
+
+        if (status >= 200 && status < 300) {
+            double rate = adaptive ? Math.min(successRate, adaptiveRate) : successRate;
+            // Keep the n-th response whenever n * rate crosses an integer: evenly spaced, no RNG.
+            long n = state.seen.getAndIncrement();
+            if ((long) ((n + 1) * rate) == (long) (n * rate)) {
+                state.suppress();
+                return false;
+            }
+        }
+
+        if (adaptive && tokens.decrementAndGet() < 0) {
+            state.suppress();
+            return false;
+        }
+        return true;
+    }
+
+    private void rollWindow() {
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start < WINDOW_NANOS || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        long requests = windowRequests.sumThenReset();
+        adaptiveRate = (requests <= maxLinesPerSecond) ? 1.0 : (double) maxLinesPerSecond / requests;
+        tokens.set(maxLinesPerSecond);
+    }
+
+    public void logSummary() {
+        Map<String, Long> suppressed = new TreeMap<>();
+        routes.forEach((route, state) -> {
+            long count = state.pending.sumThenReset();
+            if (count > 0) {
+                suppressed.put(route, count);
+            }
+        });
+        if (suppressed.isEmpty()) {
+            return;
+        }
+
+        long total = 0;
+        StringJoiner byRoute = new StringJoiner(",");
+        for (Map.Entry<String, Long> entry : suppressed.entrySet()) {
+            total += entry.getValue();
+            byRoute.add(entry.getKey() + "=" + entry.getValue());
+        }
+        log.info("http_request_suppressed mode={} total={} routes={}", mode, total, byRoute);
+    }
+
+    private RouteState newRouteState(String route) {
+        return new RouteState(Counter.builder("access_log_suppressed_total")
+            .description("Access log lines suppressed by sampling or the lines-per-second budget.")
+            .tag("path", route)
+            .register(registry));
+    }
+
+    private static final class RouteState {
+        final AtomicLong seen = new AtomicLong();
+        final LongAdder pending = new LongAdder();
+        final Counter suppressed;
+
+        RouteState(Counter suppressed) {
+            this.suppressed = suppressed;
+        }
+
+        void suppress() {
+            pending.increment();
+            suppressed.increment();
+        }
+    }
+}
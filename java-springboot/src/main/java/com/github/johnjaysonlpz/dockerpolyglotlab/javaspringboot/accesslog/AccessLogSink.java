@@ -0,0 +1,12 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.IOException;
+
+public interface AccessLogSink {
+
+    // Called on the pipeline's consumer thread; the entry is reused after this returns.
+    void append(AccessLogEntry entry) throws IOException;
+
+    // Called once at the end of each batch.
+    void flush() throws IOException;
+}
@@ -0,0 +1,76 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class LoggerAccessLogSink implements AccessLogSink {
+
+    private static final Logger log = LoggerFactory.getLogger("http");
+
+    private final String serviceName;
+    private final String version;
+
+    public LoggerAccessLogSink(String serviceName, String version) {
+        this.serviceName = serviceName;
+        this.version = version;
+    }
+
+    @Override
+    public void append(AccessLogEntry entry) {
+        boolean usage = entry.getCpuNanos() >= 0 || entry.getAllocatedBytes() >= 0;
+        boolean phases = entry.getQueueNanos() >= 0 || entry.getHandlerNanos() >= 0 || entry.getWriteNanos() >= 0;
+        if (usage || phases) {
+            log.info(
+                "http_request service={} version={} method={} path={} rawPath={} status={} ip={} latencyMs={}{} userAgent=\"{}\"",
+                serviceName,
+                version,
+                entry.getMethod(),
+                entry.getPath(),
+                entry.getRawPath(),
+                entry.getStatus(),
+                entry.getIp(),
+                TimeUnit.NANOSECONDS.toMillis(entry.getLatencyNanos()),
+                optionalFields(entry, usage, phases),
+                entry.getUserAgent()
+            );
+            return;
+        }
+        log.info(
+            "http_request service={} version={} method={} path={} rawPath={} status={} ip={} latencyMs={} userAgent=\"{}\"",
+            serviceName,
+            version,
+            entry.getMethod(),
+            entry.getPath(),
+            entry.getRawPath(),
+            entry.getStatus(),
+            entry.getIp(),
+            TimeUnit.NANOSECONDS.toMillis(entry.getLatencyNanos()),
+            entry.getUserAgent()
+        );
+    }
+
+    private static String optionalFields(AccessLogEntry entry, boolean usage, boolean phases) {
+        StringBuilder fields = new StringBuilder(96);
+        if (usage) {
+            fields.append(" cpuMicros=").append(TimeUnit.NANOSECONDS.toMicros(entry.getCpuNanos()))
+                .append(" allocatedBytes=").append(entry.getAllocatedBytes());
+        }
+        if (phases) {
+            fields.append(" queueMicros=").append(micros(entry.getQueueNanos()))
+                .append(" handlerMicros=").append(micros(entry.getHandlerNanos()))
+                .append(" writeMicros=").append(micros(entry.getWriteNanos()));
+        }
+        return fields.toString();
+    }
+
+    // A phase that was not measured stays -1 rather than rounding to 0.
+    private static long micros(long nanos) {
+        return (nanos < 0) ? -1 : TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public void flush() {
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.logfile.MappedSegmentWriter;
+
+public class MappedFileAccessLogSink implements AccessLogSink, Closeable {
+
+    private final AccessLogJsonEncoder encoder;
+    private final MappedSegmentWriter writer;
+    private final AccessLogJsonEncoder.LineSink records;
+
+    public MappedFileAccessLogSink(AccessLogJsonEncoder encoder, MappedSegmentWriter writer) {
+        this.encoder = encoder;
+        this.writer = writer;
+        // The encoder hands over each line in a single call, so every line is one record.
+        this.records = writer::append;
+    }
+
+    @Override
+    public void append(AccessLogEntry entry) throws IOException {
+        encoder.encode(entry, records);
+    }
+
+    // Durability is handled by the writer's flush interval, not per batch.
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class StreamAccessLogSink implements AccessLogSink {
+
+    private final AccessLogJsonEncoder encoder;
+    private final OutputStream out;
+
+    // Entries accumulate in the buffer and reach the underlying stream once per batch.
+    public StreamAccessLogSink(AccessLogJsonEncoder encoder, OutputStream out) {
+        this.encoder = encoder;
+        this.out = new BufferedOutputStream(out, 64 * 1024);
+    }
+
+    @Override
+    public void append(AccessLogEntry entry) throws IOException {
+        encoder.encode(entry, out);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogJsonEncoder;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogPipeline;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSampler;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSink;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.LoggerAccessLogSink;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.MappedFileAccessLogSink;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.StreamAccessLogSink;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.logfile.MappedSegmentWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+@Configuration
+public class AccessLogConfiguration {
+
+    @Bean
+    AccessLogSink accessLogSink(ServiceProperties props) throws IOException {
+        return switch (props.getAccessLog().getSink()) {
+            case LOGGER -> new LoggerAccessLogSink(props.getServiceName(), props.getVersion());
+            // System.out rather than the raw file descriptor, so batches never interleave with
+            // lines the console appender is writing.
+            case STDOUT -> new StreamAccessLogSink(
+                new AccessLogJsonEncoder(props.getServiceName(), props.getVersion()),
+                System.out
+            );
+            case FILE -> new MappedFileAccessLogSink(
+                new AccessLogJsonEncoder(props.getServiceName(), props.getVersion()),
+                accessLogWriter(props.getLogFile())
+            );
+        };
+    }
+
+    // Same directory and rolling policy as the application log file, under its own prefix.
+    private static MappedSegmentWriter accessLogWriter(ServiceProperties.LogFile logFile) throws IOException {
+        return new MappedSegmentWriter(
+            Path.of(logFile.getDirectory()),
+            "access",
+            logFile.getSegmentSize().toBytes(),
+            logFile.getRollInterval(),
+            logFile.getFlushInterval(),
+            logFile.getMaxSegments()
+        );
+    }
+
+    @Bean
+    AccessLogPipeline accessLogPipeline(AccessLogSink sink, ServiceProperties props, MeterRegistry registry) {
+        ServiceProperties.AccessLog accessLog = props.getAccessLog();
+        return new AccessLogPipeline(
+            sink,
+            accessLog.getCapacity(),
+            accessLog.getBatchSize(),
+            accessLog.getOverflowPolicy(),
+            registry
+        );
+    }
+
+    @Bean
+    AccessLogSampler accessLogSampler(ServiceProperties props, MeterRegistry registry) {
+        ServiceProperties.AccessLog.Sampling sampling = props.getAccessLog().getSampling();
+        return new AccessLogSampler(
+            sampling.getMode(),
+            sampling.getSlowThreshold(),
+            sampling.getSuccessRate(),
+            sampling.getMaxLinesPerSecond(),
+            registry
+        );
+    }
+
+    @Bean
+    SchedulingConfigurer accessLogSamplingSummary(AccessLogSampler sampler, ServiceProperties props) {
+        return registrar -> registrar.addFixedDelayTask(
+            sampler::logSummary,
+            props.getAccessLog().getSampling().getSummaryInterval()
+        );
+    }
+}
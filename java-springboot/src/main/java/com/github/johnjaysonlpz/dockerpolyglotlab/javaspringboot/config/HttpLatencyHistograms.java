@@ -0,0 +1,210 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.metrics.Histogram;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.Labels;
+
+// Decides, per route, what backs the request latency series:
+//
+//   CLASSIC  Micrometer percentile histogram: ~70 fixed buckets between 1ms and 1min per series.
+//   SLO      Micrometer histogram with only the configured bucket bounds.
+//   NATIVE   Prometheus native histogram (client_java, native-only): sparse exponential buckets that
+//            exist only where observations fell, capped at nativeMaxBuckets. Exposed in the protobuf
+//            format; text scrapes carry just _count, _sum and the +Inf bucket.
+//   NONE     no latency series at all; the request counter still counts the route.
+//
+// A metric family has one type, and native histograms are registered with the Prometheus registry
+// rather than through Micrometer, so NATIVE can only be combined with NONE.
+//
+// With striped recording (StripedHttpSeries) the routes keep their modes, but only bucketBoundsNanos
+// is used: CLASSIC and SLO give the same bucket bounds the Micrometer timers would have.
+public class HttpLatencyHistograms {
+
+    public enum Mode {
+        CLASSIC,
+        SLO,
+        NATIVE,
+        NONE
+    }
+
+    public record Route(Mode mode, List<Duration> sloBuckets) { }
+
+    static final String DESCRIPTION = "HTTP request latency.";
+
+    private static final Duration CLASSIC_MIN = Duration.ofMillis(1);
+    private static final Duration CLASSIC_MAX = Duration.ofMinutes(1);
+
+    private static final LatencyMeter NO_METER = new LatencyMeter() {
+        @Override
+        public void record(long durationNanos) { }
+
+        @Override
+        public void remove() { }
+    };
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final Route defaults;
+    private final Map<String, Route> routes;
+    private final Histogram nativeHistogram;
+    private final long[] classicBounds;
+
+    public HttpLatencyHistograms(
+        MeterRegistry registry,
+        PrometheusRegistry prometheusRegistry,
+        String name,
+        Tags commonTags,
+        int nativeMaxBuckets,
+        Route defaults,
+        Map<String, Route> routes
+    ) {
+        this.registry = registry;
+        this.name = name;
+        this.defaults = defaults;
+        this.routes = Map.copyOf(routes);
+
+        boolean anyNative = defaults.mode() == Mode.NATIVE;
+        boolean anyBucketed = defaults.mode() == Mode.CLASSIC || defaults.mode() == Mode.SLO;
+        for (Route route : this.routes.values()) {
+            anyNative |= route.mode() == Mode.NATIVE;
+            anyBucketed |= route.mode() == Mode.CLASSIC || route.mode() == Mode.SLO;
+        }
+        if (anyNative && anyBucketed) {
+            throw new IllegalArgumentException(
+                "native histograms cannot share " + name + " with classic or SLO histograms: " + describe());
+        }
+
+        this.classicBounds = DistributionStatisticConfig.builder()
+            .percentilesHistogram(true)
+            .minimumExpectedValue((double) CLASSIC_MIN.toNanos())
+            .maximumExpectedValue((double) CLASSIC_MAX.toNanos())
+            .build()
+            .getHistogramBuckets(true)
+            .stream()
+            .mapToLong(Double::longValue)
+            .toArray();
+
+        if (anyNative) {
+            Labels constLabels = Labels.EMPTY;
+            for (Tag tag : commonTags) {
+                constLabels = constLabels.add(tag.getKey(), tag.getValue());
+            }
+            this.nativeHistogram = Histogram.builder()
+                .name(name)
+                .help(DESCRIPTION)
+                .labelNames("method", "path", "status")
+                .constLabels(constLabels)
+                .nativeOnly()
+                .nativeMaxNumberOfBuckets(nativeMaxBuckets)
+                .withoutExemplars()
+                .register(prometheusRegistry);
+        } else {
+            this.nativeHistogram = null;
+        }
+    }
+
+    // Percentile histograms on every route, the default mode.
+    public static HttpLatencyHistograms classic(MeterRegistry registry, String name) {
+        return new HttpLatencyHistograms(
+            registry, null, name, Tags.empty(), 0, new Route(Mode.CLASSIC, List.of()), Map.of());
+    }
+
+    LatencyMeter register(String method, String path, int status) {
+        Route route = route(path);
+        return switch (route.mode()) {
+            case NONE -> NO_METER;
+            case NATIVE -> nativeMeter(method, path, String.valueOf(status));
+            case CLASSIC, SLO -> timerMeter(route, Tags.of(
+                "method", method,
+                "path", path,
+                "status", String.valueOf(status)
+            ));
+        };
+    }
+
+    boolean hasNative() {
+        return nativeHistogram != null;
+    }
+
+    // Upper bounds of the finite buckets for the path's route, or null when it records no latency.
+    long[] bucketBoundsNanos(String path) {
+        Route route = route(path);
+        return switch (route.mode()) {
+            case NONE -> null;
+            case CLASSIC -> classicBounds;
+            case SLO -> route.sloBuckets().stream().mapToLong(Duration::toNanos).sorted().distinct().toArray();
+            case NATIVE -> throw new IllegalStateException("native histograms have no fixed buckets: " + path);
+        };
+    }
+
+    private Route route(String path) {
+        Route route = (path != null) ? routes.get(path) : null;
+        return (route != null) ? route : defaults;
+    }
+
+    private LatencyMeter timerMeter(Route route, Tags tags) {
+        Timer.Builder builder = Timer.builder(name)
+            .description(DESCRIPTION)
+            .tags(tags);
+        if (route.mode() == Mode.CLASSIC) {
+            builder.publishPercentileHistogram(true)
+                .minimumExpectedValue(CLASSIC_MIN)
+                .maximumExpectedValue(CLASSIC_MAX);
+        } else {
+            builder.serviceLevelObjectives(route.sloBuckets().toArray(Duration[]::new));
+        }
+        Timer timer = builder.register(registry);
+
+        return new LatencyMeter() {
+            @Override
+            public void record(long durationNanos) {
+                timer.record(durationNanos, TimeUnit.NANOSECONDS);
+            }
+
+            @Override
+            public void remove() {
+                registry.remove(timer);
+            }
+        };
+    }
+
+    private LatencyMeter nativeMeter(String method, String path, String status) {
+        DistributionDataPoint point = nativeHistogram.labelValues(method, path, status);
+
+        return new LatencyMeter() {
+            @Override
+            public void record(long durationNanos) {
+                point.observe(durationNanos / 1e9);
+            }
+
+            @Override
+            public void remove() {
+                nativeHistogram.remove(method, path, status);
+            }
+        };
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder("default=").append(defaults.mode());
+        routes.forEach((path, route) -> description.append(", ").append(path).append('=').append(route.mode()));
+        return description.toString();
+    }
+
+    interface LatencyMeter {
+
+        void record(long durationNanos);
+
+        void remove();
+    }
+}
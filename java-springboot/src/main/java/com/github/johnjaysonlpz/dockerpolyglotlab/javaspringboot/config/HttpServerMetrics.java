@@ -1,93 +1,326 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
 
 import java.time.Duration;
-import java.util.Objects;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
-import io.micrometer.core.instrument.Timer;
 
 public class HttpServerMetrics {
 
+    public static final String OVERFLOW_PATH = "__other__";
+
+    static final String REQUESTS_DESCRIPTION = "Total number of HTTP requests processed.";
+
+    private static final String OTHER_METHOD = "OTHER";
+
+    private static final String[] METHODS = {
+        "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE"
+    };
+
+    private static final int STATUS_CLASSES = 5;
+
+    private static final HttpMeters[] NO_METERS = new HttpMeters[0];
+
     private final MeterRegistry registry;
-    private final Timer.Builder timerBuilder;
+    private final HttpLatencyHistograms latencyHistograms;
+    private final StripedHttpSeries striped;
     private final String counterName;
+    private final int maxDynamicSeries;
+    private final long seriesIdleTtlNanos;
+    private final Clock clock;
+
+    private final AtomicInteger routeSeries = new AtomicInteger();
+    private final Counter evictions;
+    private final Counter overflows;
 
+    // Dense table for routes known from the handler mappings; swapped in once at startup.
+    private volatile RouteTable routeTable = new RouteTable(Map.of());
+
+    // Fallback for anything the route table cannot index (unmatched paths, custom methods).
+    // Bounded by maxDynamicSeries and swept for idle entries; overflow goes to OVERFLOW_PATH.
     private final ConcurrentMap<Key, HttpMeters> metersCache = new ConcurrentHashMap<>();
 
     public HttpServerMetrics(
         MeterRegistry registry,
-        Timer.Builder timerBuilder,
-        String counterName
+        HttpLatencyHistograms latencyHistograms,
+        String counterName,
+        int maxDynamicSeries,
+        Duration seriesIdleTtl
+    ) {
+        this(registry, latencyHistograms, null, counterName, maxDynamicSeries, seriesIdleTtl);
+    }
+
+    // With striped non-null, request counts and latency go to its per-stripe cells instead of
+    // Micrometer meters; the route modes only choose the bucket bounds.
+    public HttpServerMetrics(
+        MeterRegistry registry,
+        HttpLatencyHistograms latencyHistograms,
+        StripedHttpSeries striped,
+        String counterName,
+        int maxDynamicSeries,
+        Duration seriesIdleTtl
     ) {
+        if (striped != null && latencyHistograms.hasNative()) {
+            throw new IllegalArgumentException("striped recording cannot export native histograms");
+        }
         this.registry = registry;
-        this.timerBuilder = timerBuilder;
+        this.latencyHistograms = latencyHistograms;
+        this.striped = striped;
         this.counterName = counterName;
+        this.maxDynamicSeries = maxDynamicSeries;
+        this.seriesIdleTtlNanos = seriesIdleTtl.toNanos();
+        this.clock = registry.config().clock();
+
+        Gauge.builder("http_metrics_series", this, HttpServerMetrics::seriesCount)
+            .description("Number of HTTP request series currently registered.")
+            .register(registry);
+
+        this.evictions = Counter.builder("http_metrics_series_evictions_total")
+            .description("HTTP request series removed after being idle longer than the TTL.")
+            .register(registry);
+
+        this.overflows = Counter.builder("http_metrics_series_overflow_total")
+            .description("Requests recorded under the overflow path because the series budget was exhausted.")
+            .register(registry);
     }
 
-    public void record(String method, String path, int status, Duration duration) {
-        Key key = new Key(method, path, status);
-
-        HttpMeters meters = metersCache.computeIfAbsent(key, k -> {
-            Tags tags = Tags.of(
-                "method", k.method,
-                "path", k.path,
-                "status", String.valueOf(k.status)
-            );
-
-            Counter counter = Counter
-                .builder(counterName)
-                .tags(tags)
-                .description("Total number of HTTP requests processed.")
-                .register(registry);
-
-            Timer timer = timerBuilder
-                .tags(tags)
-                .register(registry);
-
-            return new HttpMeters(counter, timer);
+    public void registerRoutes(Collection<String> routes) {
+        Map<String, Integer> index = new HashMap<>();
+        for (String route : routes) {
+            index.putIfAbsent(route, index.size());
+        }
+        this.routeTable = new RouteTable(Map.copyOf(index));
+        this.routeSeries.set(0);
+    }
+
+    public int routeCount() {
+        return routeTable.routes.size();
+    }
+
+    public int seriesCount() {
+        return routeSeries.get() + metersCache.size();
+    }
+
+    // The meters are removed from the registry while the entry is still locked: a lookup racing
+    // with the sweep waits and then registers a fresh series, instead of getting back the
+    // registry's soon-to-be-removed meters and caching them. A request already holding the evicted
+    // meters records into them and that sample is lost.
+    public void evictIdleSeries() {
+        long now = clock.monotonicTime();
+        metersCache.forEach((key, meters) -> {
+            if (now - meters.lastUsedNanos > seriesIdleTtlNanos) {
+                metersCache.computeIfPresent(key, (k, current) -> {
+                    if (now - current.lastUsedNanos <= seriesIdleTtlNanos) {
+                        return current;
+                    }
+                    current.series.remove();
+                    evictions.increment();
+                    return null;
+                });
+            }
         });
+    }
 
-        meters.counter.increment();
-        meters.timer.record(duration);
+    public void record(String method, String path, int status, Duration duration) {
+        record(method, path, status, duration.toNanos());
     }
 
-    private static final class HttpMeters {
-        final Counter counter;
-        final Timer timer;
+    public void record(String method, String path, int status, long durationNanos) {
+        lookup(method, path, status).series.record(durationNanos);
+    }
 
-        HttpMeters(Counter counter, Timer timer) {
-            this.counter = counter;
-            this.timer = timer;
+    // CPU time and allocation of requests sampled by request accounting, per route; unmatched paths
+    // share OVERFLOW_PATH. A negative value means that counter was not available.
+    public void recordUsage(String path, long cpuNanos, long allocatedBytes) {
+        RouteTable table = this.routeTable;
+        Integer route = (path != null) ? table.routes.get(path) : null;
+        int index = (route != null) ? route : table.routes.size();
+
+        UsageMeters meters = table.usage.get(index);
+        if (meters == null) {
+            // A racing registration gets the same meters back from the registry.
+            meters = registerUsage((route != null) ? path : OVERFLOW_PATH);
+            table.usage.set(index, meters);
+        }
+        if (cpuNanos >= 0) {
+            meters.cpu.record(cpuNanos / 1e9);
+        }
+        if (allocatedBytes >= 0) {
+            meters.allocated.record(allocatedBytes);
         }
     }
 
-    private static final class Key {
-        final String method;
-        final String path;
-        final int status;
+    private UsageMeters registerUsage(String path) {
+        DistributionSummary cpu = DistributionSummary.builder("http_request_cpu_seconds")
+            .description("CPU time spent on the request thread by sampled requests.")
+            .baseUnit("seconds")
+            .tag("path", path)
+            .register(registry);
+        DistributionSummary allocated = DistributionSummary.builder("http_request_allocated_bytes")
+            .description("Heap allocated on the request thread by sampled requests.")
+            .baseUnit("bytes")
+            .tag("path", path)
+            .register(registry);
+        return new UsageMeters(cpu, allocated);
+    }
 
-        Key(String method, String path, int status) {
-            this.method = method;
-            this.path = path;
-            this.status = status;
+    private HttpMeters lookup(String method, String path, int status) {
+        RouteTable table = this.routeTable;
+        Integer route = (path != null) ? table.routes.get(path) : null;
+        int methodIndex = methodIndex(method);
+        int statusClass = status / 100 - 1;
+
+        if (route == null || methodIndex < 0 || statusClass < 0 || statusClass >= STATUS_CLASSES) {
+            String methodLabel = (methodIndex < 0) ? OTHER_METHOD : METHODS[methodIndex];
+            return lookupDynamic(new Key(methodLabel, path, status));
+        }
+
+        int slot = (route * METHODS.length + methodIndex) * STATUS_CLASSES + statusClass;
+        HttpMeters[] candidates = table.slots.get(slot);
+        for (HttpMeters candidate : candidates) {
+            if (candidate.status == status) {
+                return candidate;
+            }
+        }
+        return registerInSlot(table, slot, new Key(METHODS[methodIndex], path, status));
+    }
+
+    private HttpMeters lookupDynamic(Key key) {
+        HttpMeters meters = metersCache.get(key);
+        if (meters == null) {
+            if (metersCache.size() >= maxDynamicSeries) {
+                key = new Key(key.method(), OVERFLOW_PATH, key.status());
+                overflows.increment();
+            }
+            meters = metersCache.computeIfAbsent(key, this::register);
+        }
+        meters.lastUsedNanos = clock.monotonicTime();
+        return meters;
+    }
+
+    private HttpMeters registerInSlot(RouteTable table, int slot, Key key) {
+        HttpMeters created = register(key);
+        while (true) {
+            HttpMeters[] current = table.slots.get(slot);
+            for (HttpMeters existing : current) {
+                if (existing.status == key.status()) {
+                    return existing;
+                }
+            }
+            HttpMeters[] next = new HttpMeters[current.length + 1];
+            System.arraycopy(current, 0, next, 0, current.length);
+            next[current.length] = created;
+            if (table.slots.compareAndSet(slot, current, next)) {
+                routeSeries.incrementAndGet();
+                return created;
+            }
+        }
+    }
+
+    private HttpMeters register(Key key) {
+        SeriesMeter series = (striped != null)
+            ? striped.register(key.method(), key.path(), key.status(), latencyHistograms.bucketBoundsNanos(key.path()))
+            : micrometerSeries(key);
+
+        HttpMeters meters = new HttpMeters(key.status(), series);
+        meters.lastUsedNanos = clock.monotonicTime();
+        return meters;
+    }
+
+    private SeriesMeter micrometerSeries(Key key) {
+        Tags tags = Tags.of(
+            "method", key.method(),
+            "path", key.path(),
+            "status", String.valueOf(key.status())
+        );
+
+        Counter counter = Counter
+            .builder(counterName)
+            .tags(tags)
+            .description(REQUESTS_DESCRIPTION)
+            .register(registry);
+
+        HttpLatencyHistograms.LatencyMeter latency =
+            latencyHistograms.register(key.method(), key.path(), key.status());
+
+        return new SeriesMeter() {
+            @Override
+            public void record(long durationNanos) {
+                counter.increment();
+                latency.record(durationNanos);
+            }
+
+            @Override
+            public void remove() {
+                registry.remove(counter);
+                latency.remove();
+            }
+        };
+    }
+
+    private static int methodIndex(String method) {
+        if (method == null) {
+            return -1;
         }
+        return switch (method) {
+            case "GET" -> 0;
+            case "HEAD" -> 1;
+            case "POST" -> 2;
+            case "PUT" -> 3;
+            case "PATCH" -> 4;
+            case "DELETE" -> 5;
+            case "OPTIONS" -> 6;
+            case "TRACE" -> 7;
+            default -> -1;
+        };
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof Key key)) return false;
-            return status == key.status
-                && Objects.equals(method, key.method)
-                && Objects.equals(path, key.path);
+    private static final class RouteTable {
+        final Map<String, Integer> routes;
+        final AtomicReferenceArray<HttpMeters[]> slots;
+        final AtomicReferenceArray<UsageMeters> usage;
+
+        RouteTable(Map<String, Integer> routes) {
+            this.routes = routes;
+            this.usage = new AtomicReferenceArray<>(routes.size() + 1);
+            this.slots = new AtomicReferenceArray<>(routes.size() * METHODS.length * STATUS_CLASSES);
+            for (int i = 0; i < slots.length(); i++) {
+                slots.set(i, NO_METERS);
+            }
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(method, path, status);
+    private static final class HttpMeters {
+        final int status;
+        final SeriesMeter series;
+        volatile long lastUsedNanos;
+
+        HttpMeters(int status, SeriesMeter series) {
+            this.status = status;
+            this.series = series;
         }
     }
+
+    // The request counter and latency of one (method, path, status) series.
+    interface SeriesMeter {
+
+        void record(long durationNanos);
+
+        void remove();
+    }
+
+    private record UsageMeters(DistributionSummary cpu, DistributionSummary allocated) { }
+
+    private record Key(String method, String path, int status) { }
 }
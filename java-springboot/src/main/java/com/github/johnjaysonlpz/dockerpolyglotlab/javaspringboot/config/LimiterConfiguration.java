@@ -0,0 +1,68 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.time.Duration;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.ClientRateLimiter;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.GradientConcurrencyLimiter;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.SaturationMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+
+// No bean here is conditional: the filters read their enabled flags at runtime, because
+// @ConditionalOnProperty is evaluated once at build time when the jar is AOT-processed.
+@Configuration
+public class LimiterConfiguration {
+
+    // Always present so HttpLoggingFilter can depend on it; without ConcurrencyLimitFilter no
+    // permits are taken and it stays idle.
+    @Bean
+    GradientConcurrencyLimiter concurrencyLimiter(ServiceProperties props, MeterRegistry registry) {
+        ServiceProperties.Limiter limiter = props.getLimiter();
+        return new GradientConcurrencyLimiter(
+            limiter.getInitialLimit(),
+            limiter.getMinLimit(),
+            limiter.getMaxLimit(),
+            limiter.getTolerance(),
+            limiter.getSmoothing(),
+            limiter.getSampleWindow(),
+            registry
+        );
+    }
+
+    @Bean
+    SchedulingConfigurer limiterSaturationMonitor(
+        GradientConcurrencyLimiter limiter,
+        ApplicationEventPublisher publisher,
+        ReadinessStateHolder readiness,
+        ServiceProperties props
+    ) {
+        ServiceProperties.Limiter settings = props.getLimiter();
+        if (!settings.isEnabled() || !settings.isDrainOnSaturation()) {
+            return registrar -> { };
+        }
+        SaturationMonitor monitor = new SaturationMonitor(
+            limiter,
+            publisher,
+            readiness,
+            settings.getSaturationPeriod(),
+            settings.getRecoveryPeriod()
+        );
+        return registrar -> registrar.addFixedDelayTask(monitor, Duration.ofSeconds(1));
+    }
+
+    // Sized down to a single set while disabled; RateLimitFilter never consults it then.
+    @Bean
+    ClientRateLimiter clientRateLimiter(ServiceProperties props, MeterRegistry registry) {
+        ServiceProperties.RateLimit rateLimit = props.getRateLimit();
+        return new ClientRateLimiter(
+            rateLimit.getLimit(),
+            rateLimit.getPeriod(),
+            rateLimit.getBurst(),
+            rateLimit.isEnabled() ? rateLimit.getMaxClients() : 1,
+            registry
+        );
+    }
+}
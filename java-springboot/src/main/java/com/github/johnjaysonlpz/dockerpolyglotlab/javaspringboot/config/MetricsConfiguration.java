@@ -1,19 +1,31 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling.JfrRuntimeMetrics;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats.RollingLatencyStats;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupTraffic;
 import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.binder.MeterBinder;
 import io.micrometer.prometheusmetrics.PrometheusConfig;
 import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
 import io.prometheus.metrics.model.registry.PrometheusRegistry;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
 
 @Configuration
 public class MetricsConfiguration {
@@ -42,14 +54,135 @@ public class MetricsConfiguration {
     }
 
     @Bean
-    HttpServerMetrics httpServerMetrics(MeterRegistry registry) {
-        Timer.Builder timerBuilder = Timer.builder("http_request_duration_seconds")
-            .description("HTTP request latency.")
-            .publishPercentileHistogram(true)
-            .minimumExpectedValue(Duration.ofMillis(1))
-            .maximumExpectedValue(Duration.ofMinutes(1));
+    JfrRuntimeMetrics jfrRuntimeMetrics(ServiceProperties props) {
+        return new JfrRuntimeMetrics(props.getJfrMetrics());
+    }
+
+    // The meters are bound with the registry; the RecordingStream is started off the startup path,
+    // on its own thread once the application is ready, so it adds nothing to time-to-ready.
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> jfrRuntimeMetricsStarter(JfrRuntimeMetrics metrics) {
+        return event -> Thread.ofPlatform().daemon().name("jfr-metrics-start").start(metrics::start);
+    }
+
+    @Bean
+    RequestPhaseMetrics requestPhaseMetrics(PrometheusRegistry prometheusRegistry, ServiceProperties props) {
+        return new RequestPhaseMetrics(prometheusRegistry, commonTags(props), props.getRequestPhases());
+    }
+
+    @Bean
+    HttpServerMetrics httpServerMetrics(
+        MeterRegistry registry,
+        PrometheusRegistry prometheusRegistry,
+        ServiceProperties props
+    ) {
+        return newHttpServerMetrics(registry, prometheusRegistry, props);
+    }
+
+    static HttpServerMetrics newHttpServerMetrics(
+        MeterRegistry registry,
+        PrometheusRegistry prometheusRegistry,
+        ServiceProperties props
+    ) {
+        ServiceProperties.Metrics metrics = props.getMetrics();
+        StripedHttpSeries striped = null;
+        if (metrics.isStripedRecording()) {
+            int stripes = metrics.getStripes();
+            striped = new StripedHttpSeries(
+                prometheusRegistry,
+                "http_requests_total",
+                HttpServerMetrics.REQUESTS_DESCRIPTION,
+                "http_request_duration_seconds",
+                commonTags(props),
+                (stripes > 0) ? stripes : Runtime.getRuntime().availableProcessors(),
+                registry.config().clock()
+            );
+        }
+
+        return new HttpServerMetrics(
+            registry,
+            newLatencyHistograms(registry, prometheusRegistry, props),
+            striped,
+            "http_requests_total",
+            metrics.getMaxDynamicSeries(),
+            metrics.getSeriesIdleTtl()
+        );
+    }
+
+    private static Tags commonTags(ServiceProperties props) {
+        return Tags.of("service", props.getServiceName(), "version", props.getVersion());
+    }
 
-        return new HttpServerMetrics(registry, timerBuilder, "http_requests_total");
+    // Route overrides inherit whatever they leave unset from app.metrics.histogram. Native
+    // histograms and striped series bypass Micrometer, so the common tags are attached to them here.
+    private static HttpLatencyHistograms newLatencyHistograms(
+        MeterRegistry registry,
+        PrometheusRegistry prometheusRegistry,
+        ServiceProperties props
+    ) {
+        ServiceProperties.Metrics.Histogram histogram = props.getMetrics().getHistogram();
+        HttpLatencyHistograms.Route defaults =
+            new HttpLatencyHistograms.Route(histogram.getMode(), List.copyOf(histogram.getSloBuckets()));
+
+        Map<String, HttpLatencyHistograms.Route> routes = new HashMap<>();
+        histogram.getRoutes().forEach((path, route) -> routes.put(path, new HttpLatencyHistograms.Route(
+            (route.getMode() != null) ? route.getMode() : defaults.mode(),
+            (route.getSloBuckets() != null) ? List.copyOf(route.getSloBuckets()) : defaults.sloBuckets()
+        )));
+
+        return new HttpLatencyHistograms(
+            registry,
+            prometheusRegistry,
+            "http_request_duration_seconds",
+            commonTags(props),
+            histogram.getNativeMaxBuckets(),
+            defaults,
+            routes
+        );
+    }
+
+    @Bean
+    SchedulingConfigurer httpMetricsSweeper(HttpServerMetrics metrics, ServiceProperties props) {
+        return registrar -> registrar.addFixedDelayTask(
+            metrics::evictIdleSeries,
+            props.getMetrics().getSweepInterval()
+        );
+    }
+
+    @Bean
+    RollingLatencyStats rollingLatencyStats(ServiceProperties props) {
+        ServiceProperties.Stats stats = props.getStats();
+        return new RollingLatencyStats(stats.isEnabled(), stats.getInterval(), stats.getSignificantDigits());
+    }
+
+    // Fixed rate rather than fixed delay: the windows assume intervals of equal length.
+    @Bean
+    SchedulingConfigurer latencyStatsRotator(RollingLatencyStats stats) {
+        return registrar -> {
+            if (stats.isEnabled()) {
+                registrar.addFixedRateTask(stats::rotate, stats.interval());
+            }
+        };
+    }
+
+    @Bean
+    ApplicationListener<ContextRefreshedEvent> httpRouteTableInitializer(
+        HttpServerMetrics metrics,
+        RollingLatencyStats stats,
+        WarmupTraffic warmupTraffic
+    ) {
+        return event -> {
+            Set<String> routes = new LinkedHashSet<>();
+            event.getApplicationContext()
+                .getBeansOfType(RequestMappingInfoHandlerMapping.class)
+                .values()
+                .forEach(mapping -> mapping.getHandlerMethods()
+                    .keySet()
+                    .forEach(info -> routes.addAll(info.getPatternValues())));
+            metrics.registerRoutes(routes);
+            stats.registerRoutes(routes);
+            warmupTraffic.metrics().registerRoutes(routes);
+        };
     }
 
     @Bean
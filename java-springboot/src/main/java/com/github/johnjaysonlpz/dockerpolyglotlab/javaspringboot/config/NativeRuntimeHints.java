@@ -0,0 +1,101 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.util.List;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.logfile.MappedFileAppender;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown.DrainableHttp11NioProtocol;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+
+// Reflection and resource metadata for the native image that Spring AOT cannot infer from the bean
+// definitions alone. Everything here is reached by name or by reflection at runtime, so a missing
+// entry only shows up as a failure in the native binary, never on the JVM.
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Built-in Hibernate Validator implementations for the constraint/type pairs used in
+    // ServiceProperties. They are instantiated reflectively on first validation.
+    private static final List<String> CONSTRAINT_VALIDATORS = List.of(
+        "org.hibernate.validator.internal.constraintvalidators.bv.NotNullValidator",
+        "org.hibernate.validator.internal.constraintvalidators.bv.NotBlankValidator",
+        "org.hibernate.validator.internal.constraintvalidators.bv.notempty.NotEmptyValidatorForCollection",
+        "org.hibernate.validator.internal.constraintvalidators.bv.number.bound.MinValidatorForInteger",
+        "org.hibernate.validator.internal.constraintvalidators.bv.number.bound.MinValidatorForLong",
+        "org.hibernate.validator.internal.constraintvalidators.bv.number.bound.MaxValidatorForInteger",
+        "org.hibernate.validator.internal.constraintvalidators.bv.number.bound.MaxValidatorForLong",
+        "org.hibernate.validator.internal.constraintvalidators.bv.number.bound.decimal.DecimalMinValidatorForDouble",
+        "org.hibernate.validator.internal.constraintvalidators.bv.number.bound.decimal.DecimalMaxValidatorForDouble",
+        "org.hibernate.validator.internal.constraintvalidators.hv.time.DurationMinValidator",
+        "org.hibernate.validator.internal.constraintvalidators.hv.time.DurationMaxValidator"
+    );
+
+    // logback-spring.xml: the encoder, its <providers> container and one class per provider element.
+    private static final List<String> LOGSTASH_COMPONENTS = List.of(
+        "net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder",
+        "net.logstash.logback.composite.loggingevent.LoggingEventJsonProviders",
+        "net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider",
+        "net.logstash.logback.composite.loggingevent.LogLevelJsonProvider",
+        "net.logstash.logback.composite.loggingevent.LoggingEventThreadNameJsonProvider",
+        "net.logstash.logback.composite.loggingevent.LoggerNameJsonProvider",
+        "net.logstash.logback.composite.loggingevent.MessageJsonProvider",
+        "net.logstash.logback.composite.loggingevent.ArgumentsJsonProvider",
+        "net.logstash.logback.composite.loggingevent.MdcJsonProvider",
+        "net.logstash.logback.composite.ContextJsonProvider",
+        "net.logstash.logback.composite.loggingevent.StackTraceJsonProvider"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Binding needs the getters and setters of every nested group. Spring Boot derives these from
+        // the bean too, but validation does not come with them.
+        BindableRuntimeHintsRegistrar.forTypes(ServiceProperties.class).registerHints(hints);
+        registerConstrainedTypes(hints, ServiceProperties.class);
+
+        for (String validator : CONSTRAINT_VALIDATORS) {
+            hints.reflection().registerType(
+                TypeReference.of(validator),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS
+            );
+        }
+
+        for (String component : LOGSTASH_COMPONENTS) {
+            registerJoranComponent(hints, TypeReference.of(component));
+        }
+        registerJoranComponent(hints, TypeReference.of(MappedFileAppender.class));
+
+        // /metrics serves protobuf when asked; the client looks the writer up with Class.forName so
+        // that the shaded protobuf runtime stays optional.
+        hints.reflection().registerType(
+            TypeReference.of("io.prometheus.metrics.expositionformats.internal.PrometheusProtobufWriterImpl"),
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS
+        );
+        hints.resources().registerPattern("prometheus.properties");
+
+        // Connectors create their protocol handler from its class name.
+        hints.reflection().registerType(DrainableHttp11NioProtocol.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+
+    // Hibernate Validator reads the constrained fields and cascades through the @Valid nested groups.
+    private static void registerConstrainedTypes(RuntimeHints hints, Class<?> type) {
+        hints.reflection().registerType(
+            type,
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_PUBLIC_METHODS
+        );
+        for (Class<?> nested : type.getDeclaredClasses()) {
+            registerConstrainedTypes(hints, nested);
+        }
+    }
+
+    // Joran instantiates configured components by class name and calls their setters and adders.
+    private static void registerJoranComponent(RuntimeHints hints, TypeReference type) {
+        hints.reflection().registerType(
+            type,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS
+        );
+    }
+}
@@ -8,13 +8,29 @@ import org.springframework.stereotype.Component;
 @Component
 public class ReadinessStateHolder implements ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
 
-    private volatile ReadinessState state = ReadinessState.ACCEPTING_TRAFFIC;
+    // Spring Boot publishes ACCEPTING_TRAFFIC once the application (and its warm-up) is ready.
+    private volatile ReadinessState state = ReadinessState.REFUSING_TRAFFIC;
+
+    private volatile boolean shuttingDown;
 
     @Override
     public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+        // Once shutdown has started nothing may report the instance ready again.
+        if (shuttingDown && event.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
         this.state = event.getState();
     }
 
+    public void markShuttingDown() {
+        this.shuttingDown = true;
+        this.state = ReadinessState.REFUSING_TRAFFIC;
+    }
+
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
     public ReadinessState getState() {
         return state;
     }
@@ -0,0 +1,101 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.prometheus.metrics.core.datapoints.DistributionDataPoint;
+import io.prometheus.metrics.core.metrics.Histogram;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.Labels;
+
+// Where a request's time went, per route, as http_request_phase_seconds{path,phase}:
+//
+//   queue    from the connector reading the request line until HttpLoggingFilter runs: header
+//            parsing and the filters ahead of it;
+//   handler  from HttpLoggingFilter until the body starts being written, or until the chain
+//            returns for responses without a body;
+//   write    serializing the body and writing it out, up to the end of the filter chain.
+//
+// Phases do not overlap, so queue + handler + write is the request's time inside the server.
+//
+// Every request records up to three observations, so this is a client_java classic histogram
+// registered with the Prometheus registry rather than three Micrometer timers, which cost more
+// than twice as much per observation in HttpLoggingFilterBenchmark.
+public class RequestPhaseMetrics {
+
+    static final String NAME = "http_request_phase_seconds";
+
+    private final boolean enabled;
+    private final boolean accessLogFields;
+    private final Histogram histogram;
+
+    // Keyed by handler-mapping pattern or OVERFLOW_PATH, so bounded by the route count.
+    private final ConcurrentMap<String, Phases> phases = new ConcurrentHashMap<>();
+
+    public RequestPhaseMetrics(
+        PrometheusRegistry prometheusRegistry,
+        Tags commonTags,
+        ServiceProperties.RequestPhases config
+    ) {
+        this.enabled = config.isEnabled();
+        this.accessLogFields = config.isAccessLog();
+        if (!enabled) {
+            this.histogram = null;
+            return;
+        }
+
+        Labels constLabels = Labels.EMPTY;
+        for (Tag tag : commonTags) {
+            constLabels = constLabels.add(tag.getKey(), tag.getValue());
+        }
+        this.histogram = Histogram.builder()
+            .name(NAME)
+            .help("Time HTTP requests spent queued, in the handler and writing the response.")
+            .labelNames("path", "phase")
+            .constLabels(constLabels)
+            .classicOnly()
+            .classicUpperBounds(config.getBuckets().stream().mapToDouble(b -> b.toNanos() / 1e9).toArray())
+            .withoutExemplars()
+            .register(prometheusRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean accessLogFields() {
+        return accessLogFields;
+    }
+
+    // A negative phase was not measured and is left out.
+    public void record(String route, long queueNanos, long handlerNanos, long writeNanos) {
+        if (!enabled) {
+            return;
+        }
+        Phases points = phases.get(route);
+        if (points == null) {
+            points = phases.computeIfAbsent(route, this::register);
+        }
+        if (queueNanos >= 0) {
+            points.queue.observe(queueNanos / 1e9);
+        }
+        if (handlerNanos >= 0) {
+            points.handler.observe(handlerNanos / 1e9);
+        }
+        if (writeNanos >= 0) {
+            points.write.observe(writeNanos / 1e9);
+        }
+    }
+
+    private Phases register(String route) {
+        return new Phases(
+            histogram.labelValues(route, "queue"),
+            histogram.labelValues(route, "handler"),
+            histogram.labelValues(route, "write")
+        );
+    }
+
+    private record Phases(DistributionDataPoint queue, DistributionDataPoint handler, DistributionDataPoint write) { }
+}
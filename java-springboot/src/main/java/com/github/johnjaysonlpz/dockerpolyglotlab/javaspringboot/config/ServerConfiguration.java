@@ -3,7 +3,10 @@ package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown.DrainableHttp11NioProtocol;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web.ConnectorStartValve;
 import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
@@ -26,10 +29,50 @@ public class ServerConfiguration {
                 log.warn("Failed to resolve host '{}', binding to all interfaces instead", props.getHost());
             }
             factory.setPort(props.getPort());
-            factory.addConnectorCustomizers(connector -> configureConnectorTimeouts(connector, props));
+            // Http11NioProtocol, plus the idle-connection close ShutdownDrain uses.
+            factory.setProtocol(DrainableHttp11NioProtocol.class.getName());
+            factory.addConnectorCustomizers(connector -> {
+                configureConnectorTimeouts(connector, props);
+                configureConnectorTuning(connector, props);
+            });
+            if (props.getRequestPhases().isEnabled()) {
+                factory.addEngineValves(new ConnectorStartValve());
+            }
+
+            if (props.getManagementConnector().isEnabled()) {
+                factory.addAdditionalTomcatConnectors(managementConnector(props.getManagementConnector(), address));
+            }
         };
     }
 
+    // Additional connectors skip the factory's connector and protocol-handler customizers, so this
+    // one keeps Tomcat's own bounded platform-thread pool instead of the virtual-thread executor.
+    // Probes and scrapes therefore never queue behind application requests.
+    private Connector managementConnector(ServiceProperties.ManagementConnector props, InetAddress address) {
+        Connector connector = new Connector(DrainableHttp11NioProtocol.class.getName());
+        connector.setPort(props.getPort());
+        if (address != null) {
+            connector.setProperty("address", address.getHostAddress());
+        }
+        connector.setProperty("maxThreads", String.valueOf(props.getMaxThreads()));
+        connector.setProperty("minSpareThreads", "1");
+        connector.setProperty("maxQueueSize", String.valueOf(props.getMaxQueueSize()));
+        connector.setProperty("maxConnections", String.valueOf(props.getMaxConnections()));
+        connector.setProperty("acceptCount", String.valueOf(props.getAcceptCount()));
+        connector.setProperty("connectionTimeout", String.valueOf(props.getReadTimeout().toMillis()));
+        connector.setProperty("keepAliveTimeout", String.valueOf(props.getIdleTimeout().toMillis()));
+
+        log.info(
+            "management_connector port={} max_threads={} max_queue_size={} max_connections={} accept_count={}",
+            props.getPort(),
+            props.getMaxThreads(),
+            props.getMaxQueueSize(),
+            props.getMaxConnections(),
+            props.getAcceptCount()
+        );
+        return connector;
+    }
+
     private InetAddress resolveAddress(String host) {
         try {
             return InetAddress.getByName(host);
@@ -43,4 +86,61 @@ public class ServerConfiguration {
         connector.setProperty("connectionTimeout", String.valueOf(props.getReadTimeout().toMillis()));
         connector.setProperty("keepAliveTimeout", String.valueOf(props.getIdleTimeout().toMillis()));
     }
+
+    // Runs after Spring Boot's own server.tomcat.* customizer, so these values take precedence.
+    private void configureConnectorTuning(Connector connector, ServiceProperties props) {
+        ServiceProperties.Connector tuning = props.getConnector();
+
+        connector.setProperty("maxConnections", String.valueOf(tuning.getMaxConnections()));
+        connector.setProperty("acceptCount", String.valueOf(tuning.getAcceptCount()));
+        connector.setProperty("maxKeepAliveRequests", String.valueOf(tuning.getMaxKeepAliveRequests()));
+
+        ServiceProperties.Connector.Compression compression = tuning.getCompression();
+        if (compression.isEnabled()) {
+            // HTTP/2 streams use the same settings through the HTTP/1.1 protocol they upgrade from.
+            connector.setProperty("compression", "on");
+            connector.setProperty("compressionMinSize", String.valueOf(compression.getMinResponseSize().toBytes()));
+            connector.setProperty("compressibleMimeType", String.join(",", compression.getMimeTypes()));
+        }
+
+        ServiceProperties.Connector.Socket socket = tuning.getSocket();
+        connector.setProperty("socket.tcpNoDelay", String.valueOf(socket.isTcpNoDelay()));
+        if (socket.getReceiveBufferSize() != null) {
+            connector.setProperty("socket.rxBufSize", String.valueOf(socket.getReceiveBufferSize().toBytes()));
+        }
+        if (socket.getSendBufferSize() != null) {
+            connector.setProperty("socket.txBufSize", String.valueOf(socket.getSendBufferSize().toBytes()));
+        }
+
+        if (tuning.isHttp2()) {
+            // Enables both the h2c upgrade and prior-knowledge HTTP/2 on the cleartext connector.
+            Http2Protocol http2 = new Http2Protocol();
+            http2.setKeepAliveTimeout(props.getIdleTimeout().toMillis());
+            connector.addUpgradeProtocol(http2);
+        }
+
+        log.info(
+            "http_connector port={} h2c={} compression={} compression_min_size={} max_connections={} "
+                + "accept_count={} max_keep_alive_requests={} tcp_no_delay={} rx_buf={} tx_buf={} "
+                + "connection_timeout_ms={} keep_alive_timeout_ms={}",
+            connector.getPort(),
+            connector.findUpgradeProtocols().length > 0,
+            connector.getProperty("compression"),
+            connector.getProperty("compressionMinSize"),
+            connector.getProperty("maxConnections"),
+            connector.getProperty("acceptCount"),
+            // Tomcat reports 1 for this until the socket is bound.
+            tuning.getMaxKeepAliveRequests(),
+            connector.getProperty("socket.tcpNoDelay"),
+            socketBuffer(connector, "socket.rxBufSize"),
+            socketBuffer(connector, "socket.txBufSize"),
+            connector.getProperty("connectionTimeout"),
+            connector.getProperty("keepAliveTimeout")
+        );
+    }
+
+    private static Object socketBuffer(Connector connector, String name) {
+        Object value = connector.getProperty(name);
+        return value == null || Integer.valueOf(-1).equals(value) ? "default" : value;
+    }
 }
@@ -1,14 +1,27 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogPipeline;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSampler;
+import org.hibernate.validator.constraints.time.DurationMax;
 import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
 @ConfigurationProperties(prefix = "app")
@@ -38,6 +51,57 @@ public class ServiceProperties {
     @DurationMin(seconds = 1)
     private Duration shutdownTimeout = Duration.ofSeconds(5);
 
+    private boolean infraFastPath = true;
+
+    @Valid
+    private final Metrics metrics = new Metrics();
+
+    @Valid
+    private final AccessLog accessLog = new AccessLog();
+
+    @Valid
+    private final LogFile logFile = new LogFile();
+
+    @Valid
+    private final Limiter limiter = new Limiter();
+
+    @Valid
+    private final RateLimit rateLimit = new RateLimit();
+
+    @Valid
+    private final ManagementConnector managementConnector = new ManagementConnector();
+
+    @Valid
+    private final Connector connector = new Connector();
+
+    @Valid
+    private final Warmup warmup = new Warmup();
+
+    @Valid
+    private final Stats stats = new Stats();
+
+    @Valid
+    private final RequestAccounting requestAccounting = new RequestAccounting();
+
+    @Valid
+    private final RequestPhases requestPhases = new RequestPhases();
+
+    @Valid
+    private final Drain drain = new Drain();
+
+    @Valid
+    private final Profiling profiling = new Profiling();
+
+    @Valid
+    private final JfrMetrics jfrMetrics = new JfrMetrics();
+
+    // Recordings carry stack frames and allocation sites from the live service: without a token
+    // they may only be served on the management port, never on the application port.
+    @AssertTrue(message = "app.profiling.enabled requires app.profiling.token or app.management-connector.enabled")
+    public boolean isProfilingProtected() {
+        return !profiling.isEnabled() || profiling.hasToken() || managementConnector.isEnabled();
+    }
+
     public String getServiceName() {
         return serviceName;
     }
@@ -101,4 +165,1193 @@ public class ServiceProperties {
     public void setShutdownTimeout(Duration shutdownTimeout) {
         this.shutdownTimeout = shutdownTimeout;
     }
+
+    public boolean isInfraFastPath() {
+        return infraFastPath;
+    }
+
+    public void setInfraFastPath(boolean infraFastPath) {
+        this.infraFastPath = infraFastPath;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public AccessLog getAccessLog() {
+        return accessLog;
+    }
+
+    public LogFile getLogFile() {
+        return logFile;
+    }
+
+    public Limiter getLimiter() {
+        return limiter;
+    }
+
+    public RateLimit getRateLimit() {
+        return rateLimit;
+    }
+
+    public ManagementConnector getManagementConnector() {
+        return managementConnector;
+    }
+
+    public Connector getConnector() {
+        return connector;
+    }
+
+    public Warmup getWarmup() {
+        return warmup;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public RequestAccounting getRequestAccounting() {
+        return requestAccounting;
+    }
+
+    public RequestPhases getRequestPhases() {
+        return requestPhases;
+    }
+
+    public Drain getDrain() {
+        return drain;
+    }
+
+    public Profiling getProfiling() {
+        return profiling;
+    }
+
+    public JfrMetrics getJfrMetrics() {
+        return jfrMetrics;
+    }
+
+    public static class Metrics {
+
+        @Min(1)
+        private int maxDynamicSeries = 100;
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration seriesIdleTtl = Duration.ofMinutes(10);
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration sweepInterval = Duration.ofMinutes(1);
+
+        @NotNull
+        @DurationMin(nanos = 0)
+        private Duration scrapeCacheTtl = Duration.ofSeconds(1);
+
+        // Record request counts and latency into per-stripe cells merged at scrape time instead of
+        // shared Micrometer meters. Not compatible with native histograms.
+        private boolean stripedRecording = false;
+
+        // 0 means one per available processor; rounded up to a power of two.
+        @Min(0)
+        @Max(1024)
+        private int stripes = 0;
+
+        @Valid
+        private final Histogram histogram = new Histogram();
+
+        public int getMaxDynamicSeries() {
+            return maxDynamicSeries;
+        }
+
+        public void setMaxDynamicSeries(int maxDynamicSeries) {
+            this.maxDynamicSeries = maxDynamicSeries;
+        }
+
+        public Duration getSeriesIdleTtl() {
+            return seriesIdleTtl;
+        }
+
+        public void setSeriesIdleTtl(Duration seriesIdleTtl) {
+            this.seriesIdleTtl = seriesIdleTtl;
+        }
+
+        public Duration getSweepInterval() {
+            return sweepInterval;
+        }
+
+        public void setSweepInterval(Duration sweepInterval) {
+            this.sweepInterval = sweepInterval;
+        }
+
+        public Duration getScrapeCacheTtl() {
+            return scrapeCacheTtl;
+        }
+
+        public void setScrapeCacheTtl(Duration scrapeCacheTtl) {
+            this.scrapeCacheTtl = scrapeCacheTtl;
+        }
+
+        public boolean isStripedRecording() {
+            return stripedRecording;
+        }
+
+        public void setStripedRecording(boolean stripedRecording) {
+            this.stripedRecording = stripedRecording;
+        }
+
+        public int getStripes() {
+            return stripes;
+        }
+
+        public void setStripes(int stripes) {
+            this.stripes = stripes;
+        }
+
+        public Histogram getHistogram() {
+            return histogram;
+        }
+
+        public static class Histogram {
+
+            @NotNull
+            private HttpLatencyHistograms.Mode mode = HttpLatencyHistograms.Mode.CLASSIC;
+
+            @NotEmpty
+            private List<Duration> sloBuckets = new ArrayList<>(List.of(
+                Duration.ofMillis(5),
+                Duration.ofMillis(10),
+                Duration.ofMillis(25),
+                Duration.ofMillis(50),
+                Duration.ofMillis(100),
+                Duration.ofMillis(250),
+                Duration.ofMillis(500),
+                Duration.ofSeconds(1),
+                Duration.ofMillis(2500),
+                Duration.ofSeconds(5)
+            ));
+
+            @Min(1)
+            private int nativeMaxBuckets = 160;
+
+            // Keyed by handler-mapping pattern; unset fields fall back to the values above.
+            @Valid
+            private Map<String, Route> routes = new LinkedHashMap<>();
+
+            public HttpLatencyHistograms.Mode getMode() {
+                return mode;
+            }
+
+            public void setMode(HttpLatencyHistograms.Mode mode) {
+                this.mode = mode;
+            }
+
+            public List<Duration> getSloBuckets() {
+                return sloBuckets;
+            }
+
+            public void setSloBuckets(List<Duration> sloBuckets) {
+                this.sloBuckets = sloBuckets;
+            }
+
+            public int getNativeMaxBuckets() {
+                return nativeMaxBuckets;
+            }
+
+            public void setNativeMaxBuckets(int nativeMaxBuckets) {
+                this.nativeMaxBuckets = nativeMaxBuckets;
+            }
+
+            public Map<String, Route> getRoutes() {
+                return routes;
+            }
+
+            public void setRoutes(Map<String, Route> routes) {
+                this.routes = routes;
+            }
+
+            public static class Route {
+
+                private HttpLatencyHistograms.Mode mode;
+
+                private List<Duration> sloBuckets;
+
+                public HttpLatencyHistograms.Mode getMode() {
+                    return mode;
+                }
+
+                public void setMode(HttpLatencyHistograms.Mode mode) {
+                    this.mode = mode;
+                }
+
+                public List<Duration> getSloBuckets() {
+                    return sloBuckets;
+                }
+
+                public void setSloBuckets(List<Duration> sloBuckets) {
+                    this.sloBuckets = sloBuckets;
+                }
+            }
+        }
+    }
+
+    public static class AccessLog {
+
+        @Min(16)
+        @Max(1 << 20)
+        private int capacity = 8192;
+
+        @Min(1)
+        @Max(65536)
+        private int batchSize = 256;
+
+        @NotNull
+        private AccessLogPipeline.OverflowPolicy overflowPolicy = AccessLogPipeline.OverflowPolicy.DROP;
+
+        @NotNull
+        private Sink sink = Sink.LOGGER;
+
+        @Valid
+        private final Sampling sampling = new Sampling();
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public AccessLogPipeline.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(AccessLogPipeline.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Sink getSink() {
+            return sink;
+        }
+
+        public void setSink(Sink sink) {
+            this.sink = sink;
+        }
+
+        public Sampling getSampling() {
+            return sampling;
+        }
+
+        public enum Sink {
+            LOGGER,
+            STDOUT,
+            FILE
+        }
+
+        public static class Sampling {
+
+            @NotNull
+            private AccessLogSampler.Mode mode = AccessLogSampler.Mode.OFF;
+
+            @NotNull
+            @DurationMin(nanos = 0)
+            private Duration slowThreshold = Duration.ofMillis(500);
+
+            @DecimalMin("0.0")
+            @DecimalMax("1.0")
+            private double successRate = 0.1;
+
+            @Min(1)
+            private long maxLinesPerSecond = 1000;
+
+            @NotNull
+            @DurationMin(seconds = 1)
+            private Duration summaryInterval = Duration.ofMinutes(1);
+
+            public AccessLogSampler.Mode getMode() {
+                return mode;
+            }
+
+            public void setMode(AccessLogSampler.Mode mode) {
+                this.mode = mode;
+            }
+
+            public Duration getSlowThreshold() {
+                return slowThreshold;
+            }
+
+            public void setSlowThreshold(Duration slowThreshold) {
+                this.slowThreshold = slowThreshold;
+            }
+
+            public double getSuccessRate() {
+                return successRate;
+            }
+
+            public void setSuccessRate(double successRate) {
+                this.successRate = successRate;
+            }
+
+            public long getMaxLinesPerSecond() {
+                return maxLinesPerSecond;
+            }
+
+            public void setMaxLinesPerSecond(long maxLinesPerSecond) {
+                this.maxLinesPerSecond = maxLinesPerSecond;
+            }
+
+            public Duration getSummaryInterval() {
+                return summaryInterval;
+            }
+
+            public void setSummaryInterval(Duration summaryInterval) {
+                this.summaryInterval = summaryInterval;
+            }
+        }
+    }
+
+    public static class LogFile {
+
+        private boolean enabled = false;
+
+        @NotBlank
+        private String directory = "logs";
+
+        @NotNull
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration rollInterval = Duration.ofHours(1);
+
+        @NotNull
+        @DurationMin(nanos = 0)
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        @Min(1)
+        private int maxSegments = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+
+        public Duration getRollInterval() {
+            return rollInterval;
+        }
+
+        public void setRollInterval(Duration rollInterval) {
+            this.rollInterval = rollInterval;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public int getMaxSegments() {
+            return maxSegments;
+        }
+
+        public void setMaxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+        }
+    }
+
+    public static class Limiter {
+
+        private boolean enabled = false;
+
+        @Min(1)
+        private int initialLimit = 200;
+
+        @Min(1)
+        private int minLimit = 20;
+
+        @Min(1)
+        private int maxLimit = 2000;
+
+        @DecimalMin("1.0")
+        private double tolerance = 1.5;
+
+        @DecimalMin("0.01")
+        @DecimalMax("1.0")
+        private double smoothing = 0.2;
+
+        @NotNull
+        @DurationMin(millis = 10)
+        private Duration sampleWindow = Duration.ofSeconds(1);
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        private boolean drainOnSaturation = false;
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration saturationPeriod = Duration.ofSeconds(10);
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration recoveryPeriod = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public Duration getSampleWindow() {
+            return sampleWindow;
+        }
+
+        public void setSampleWindow(Duration sampleWindow) {
+            this.sampleWindow = sampleWindow;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+
+        public boolean isDrainOnSaturation() {
+            return drainOnSaturation;
+        }
+
+        public void setDrainOnSaturation(boolean drainOnSaturation) {
+            this.drainOnSaturation = drainOnSaturation;
+        }
+
+        public Duration getSaturationPeriod() {
+            return saturationPeriod;
+        }
+
+        public void setSaturationPeriod(Duration saturationPeriod) {
+            this.saturationPeriod = saturationPeriod;
+        }
+
+        public Duration getRecoveryPeriod() {
+            return recoveryPeriod;
+        }
+
+        public void setRecoveryPeriod(Duration recoveryPeriod) {
+            this.recoveryPeriod = recoveryPeriod;
+        }
+
+        @AssertTrue(message = "must satisfy min-limit <= initial-limit <= max-limit")
+        public boolean isLimitRangeValid() {
+            return minLimit <= initialLimit && initialLimit <= maxLimit;
+        }
+    }
+
+    public static class RateLimit {
+
+        private boolean enabled = false;
+
+        @Min(1)
+        private long limit = 100;
+
+        @NotNull
+        @DurationMin(millis = 1)
+        private Duration period = Duration.ofSeconds(1);
+
+        @Min(1)
+        private int burst = 100;
+
+        private String clientHeader = "";
+
+        // Proxies in front of the service that append to client-header; the client is the entry
+        // this many places from the right.
+        @Min(1)
+        @Max(16)
+        private int trustedHops = 1;
+
+        @Min(64)
+        @Max(1 << 24)
+        private int maxClients = 65536;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        public void setLimit(long limit) {
+            this.limit = limit;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public String getClientHeader() {
+            return clientHeader;
+        }
+
+        public void setClientHeader(String clientHeader) {
+            this.clientHeader = clientHeader;
+        }
+
+        public int getTrustedHops() {
+            return trustedHops;
+        }
+
+        public void setTrustedHops(int trustedHops) {
+            this.trustedHops = trustedHops;
+        }
+
+        public int getMaxClients() {
+            return maxClients;
+        }
+
+        public void setMaxClients(int maxClients) {
+            this.maxClients = maxClients;
+        }
+    }
+
+    public static class ManagementConnector {
+
+        private boolean enabled = false;
+
+        @Min(1)
+        @Max(65535)
+        private int port = 9090;
+
+        @Min(1)
+        @Max(64)
+        private int maxThreads = 4;
+
+        @Min(1)
+        private int maxQueueSize = 32;
+
+        @Min(1)
+        private int maxConnections = 32;
+
+        @Min(1)
+        private int acceptCount = 16;
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration readTimeout = Duration.ofSeconds(2);
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration idleTimeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        public void setMaxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+        }
+
+        public int getMaxQueueSize() {
+            return maxQueueSize;
+        }
+
+        public void setMaxQueueSize(int maxQueueSize) {
+            this.maxQueueSize = maxQueueSize;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getAcceptCount() {
+            return acceptCount;
+        }
+
+        public void setAcceptCount(int acceptCount) {
+            this.acceptCount = acceptCount;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getIdleTimeout() {
+            return idleTimeout;
+        }
+
+        public void setIdleTimeout(Duration idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+    }
+
+    public static class Connector {
+
+        private boolean http2 = false;
+
+        @Min(1)
+        private int maxConnections = 8192;
+
+        @Min(1)
+        private int acceptCount = 100;
+
+        // -1 keeps connections open for any number of requests.
+        @Min(-1)
+        private int maxKeepAliveRequests = 100;
+
+        @Valid
+        private final Compression compression = new Compression();
+
+        @Valid
+        private final Socket socket = new Socket();
+
+        public boolean isHttp2() {
+            return http2;
+        }
+
+        public void setHttp2(boolean http2) {
+            this.http2 = http2;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public int getAcceptCount() {
+            return acceptCount;
+        }
+
+        public void setAcceptCount(int acceptCount) {
+            this.acceptCount = acceptCount;
+        }
+
+        public int getMaxKeepAliveRequests() {
+            return maxKeepAliveRequests;
+        }
+
+        public void setMaxKeepAliveRequests(int maxKeepAliveRequests) {
+            this.maxKeepAliveRequests = maxKeepAliveRequests;
+        }
+
+        public Compression getCompression() {
+            return compression;
+        }
+
+        public Socket getSocket() {
+            return socket;
+        }
+
+        public static class Compression {
+
+            private boolean enabled = false;
+
+            @NotNull
+            private DataSize minResponseSize = DataSize.ofKilobytes(2);
+
+            @NotEmpty
+            private List<String> mimeTypes = new ArrayList<>(List.of(
+                "text/html",
+                "text/plain",
+                "text/css",
+                "text/javascript",
+                "application/javascript",
+                "application/json",
+                "application/xml"
+            ));
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public DataSize getMinResponseSize() {
+                return minResponseSize;
+            }
+
+            public void setMinResponseSize(DataSize minResponseSize) {
+                this.minResponseSize = minResponseSize;
+            }
+
+            public List<String> getMimeTypes() {
+                return mimeTypes;
+            }
+
+            public void setMimeTypes(List<String> mimeTypes) {
+                this.mimeTypes = mimeTypes;
+            }
+        }
+
+        public static class Socket {
+
+            private boolean tcpNoDelay = true;
+
+            // Unset leaves the operating system default.
+            private DataSize receiveBufferSize;
+
+            private DataSize sendBufferSize;
+
+            public boolean isTcpNoDelay() {
+                return tcpNoDelay;
+            }
+
+            public void setTcpNoDelay(boolean tcpNoDelay) {
+                this.tcpNoDelay = tcpNoDelay;
+            }
+
+            public DataSize getReceiveBufferSize() {
+                return receiveBufferSize;
+            }
+
+            public void setReceiveBufferSize(DataSize receiveBufferSize) {
+                this.receiveBufferSize = receiveBufferSize;
+            }
+
+            public DataSize getSendBufferSize() {
+                return sendBufferSize;
+            }
+
+            public void setSendBufferSize(DataSize sendBufferSize) {
+                this.sendBufferSize = sendBufferSize;
+            }
+        }
+    }
+
+    public static class Warmup {
+
+        private boolean enabled = true;
+
+        @Min(0)
+        private int iterations = 200;
+
+        @Min(1)
+        @Max(64)
+        private int concurrency = 4;
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Stats {
+
+        private boolean enabled = true;
+
+        // Windows are built from whole intervals, so this is also how often they advance.
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration interval = Duration.ofSeconds(5);
+
+        @Min(1)
+        @Max(3)
+        private int significantDigits = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getInterval() {
+            return interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public int getSignificantDigits() {
+            return significantDigits;
+        }
+
+        public void setSignificantDigits(int significantDigits) {
+            this.significantDigits = significantDigits;
+        }
+    }
+
+    public static class RequestAccounting {
+
+        // Sampled requests that arrive on virtual threads are run on a platform thread, so this is
+        // off unless asked for.
+        private boolean enabled = false;
+
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        private double sampleRate = 0.01;
+
+        // Adds cpuMicros and allocatedBytes to the access-log lines of sampled requests.
+        private boolean accessLog = false;
+
+        @Min(1)
+        @Max(64)
+        private int platformThreads = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public boolean isAccessLog() {
+            return accessLog;
+        }
+
+        public void setAccessLog(boolean accessLog) {
+            this.accessLog = accessLog;
+        }
+
+        public int getPlatformThreads() {
+            return platformThreads;
+        }
+
+        public void setPlatformThreads(int platformThreads) {
+            this.platformThreads = platformThreads;
+        }
+    }
+
+    public static class RequestPhases {
+
+        private boolean enabled = true;
+
+        // Adds queueMicros, handlerMicros and writeMicros to access-log lines.
+        private boolean accessLog = false;
+
+        @NotEmpty
+        private List<Duration> buckets = new ArrayList<>(List.of(
+            Duration.ofNanos(100_000),
+            Duration.ofNanos(500_000),
+            Duration.ofMillis(1),
+            Duration.ofMillis(5),
+            Duration.ofMillis(10),
+            Duration.ofMillis(25),
+            Duration.ofMillis(50),
+            Duration.ofMillis(100),
+            Duration.ofMillis(250),
+            Duration.ofMillis(500),
+            Duration.ofSeconds(1),
+            Duration.ofMillis(2500),
+            Duration.ofSeconds(5)
+        ));
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isAccessLog() {
+            return accessLog;
+        }
+
+        public void setAccessLog(boolean accessLog) {
+            this.accessLog = accessLog;
+        }
+
+        public List<Duration> getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(List<Duration> buckets) {
+            this.buckets = buckets;
+        }
+    }
+
+    public static class Drain {
+
+        // How long readiness reports REFUSING_TRAFFIC before the connectors pause: at least the
+        // readiness probe period plus the time the load balancer takes to act on it.
+        @NotNull
+        @DurationMin(seconds = 0)
+        private Duration propagationDelay = Duration.ZERO;
+
+        private boolean closeIdleConnections = true;
+
+        public Duration getPropagationDelay() {
+            return propagationDelay;
+        }
+
+        public void setPropagationDelay(Duration propagationDelay) {
+            this.propagationDelay = propagationDelay;
+        }
+
+        public boolean isCloseIdleConnections() {
+            return closeIdleConnections;
+        }
+
+        public void setCloseIdleConnections(boolean closeIdleConnections) {
+            this.closeIdleConnections = closeIdleConnections;
+        }
+    }
+
+    public static class Profiling {
+
+        // Serves POST /debug/profile and /debug/profile/summary. Off unless asked for.
+        private boolean enabled = false;
+
+        // When set, requests need "Authorization: Bearer <token>".
+        private String token = "";
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        private Duration defaultDuration = Duration.ofSeconds(30);
+
+        @NotNull
+        @DurationMin(seconds = 1)
+        @DurationMax(minutes = 10)
+        private Duration maxDuration = Duration.ofSeconds(60);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public void setToken(String token) {
+            this.token = token;
+        }
+
+        public Duration getDefaultDuration() {
+            return defaultDuration;
+        }
+
+        public void setDefaultDuration(Duration defaultDuration) {
+            this.defaultDuration = defaultDuration;
+        }
+
+        public Duration getMaxDuration() {
+            return maxDuration;
+        }
+
+        public void setMaxDuration(Duration maxDuration) {
+            this.maxDuration = maxDuration;
+        }
+
+        public boolean hasToken() {
+            return token != null && !token.isBlank();
+        }
+
+        @AssertTrue(message = "must satisfy default-duration <= max-duration")
+        public boolean isDurationRangeValid() {
+            return defaultDuration == null || maxDuration == null || defaultDuration.compareTo(maxDuration) <= 0;
+        }
+    }
+
+    public static class JfrMetrics {
+
+        private boolean enabled = true;
+
+        // Events shorter than their threshold are dropped inside the JVM; every GC is recorded.
+        @NotNull
+        @DurationMin(seconds = 0)
+        private Duration pinnedThreshold = Duration.ofMillis(20);
+
+        @NotNull
+        @DurationMin(seconds = 0)
+        private Duration lockThreshold = Duration.ofMillis(10);
+
+        @NotNull
+        @DurationMin(seconds = 0)
+        private Duration safepointThreshold = Duration.ofMillis(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getPinnedThreshold() {
+            return pinnedThreshold;
+        }
+
+        public void setPinnedThreshold(Duration pinnedThreshold) {
+            this.pinnedThreshold = pinnedThreshold;
+        }
+
+        public Duration getLockThreshold() {
+            return lockThreshold;
+        }
+
+        public void setLockThreshold(Duration lockThreshold) {
+            this.lockThreshold = lockThreshold;
+        }
+
+        public Duration getSafepointThreshold() {
+            return safepointThreshold;
+        }
+
+        public void setSafepointThreshold(Duration safepointThreshold) {
+            this.safepointThreshold = safepointThreshold;
+        }
+    }
 }
@@ -0,0 +1,258 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.prometheus.metrics.model.registry.MultiCollector;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.ClassicHistogramBuckets;
+import io.prometheus.metrics.model.snapshots.CounterSnapshot;
+import io.prometheus.metrics.model.snapshots.Exemplars;
+import io.prometheus.metrics.model.snapshots.GaugeSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.Labels;
+import io.prometheus.metrics.model.snapshots.MetricMetadata;
+import io.prometheus.metrics.model.snapshots.MetricSnapshot;
+import io.prometheus.metrics.model.snapshots.MetricSnapshots;
+
+// Request counter and latency histogram for app.metrics.striped-recording. Each (method, path, status)
+// series keeps its count, latency sum, max and bucket counts in per-stripe cells: one padded long[]
+// per stripe, picked by hashing the recording thread's id, so requests on different stripes never
+// write to the same cache line. A stripe's cell is allocated the first time a thread lands on it, so
+// quiet series stay small. Collection sums the cells and exports the same families, labels and HELP
+// text as the Micrometer counter and timer: <counter>_total, <latency> with classic buckets, and the
+// <latency>_max gauge over the same rolling two minutes.
+public class StripedHttpSeries implements MultiCollector {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Micrometer's default max window: three 40s buffers, the oldest dropped as a new one starts.
+    private static final long MAX_ROTATE_MILLIS = 40_000;
+    private static final int MAX_BUFFERS = 3;
+
+    // A cell is [pad | count, sum, max epochs, maxima, buckets..., +Inf | pad], padded by a cache
+    // line on both sides so neighbouring cells never share one.
+    private static final int PAD = 8;
+    private static final int COUNT = PAD;
+    private static final int SUM = COUNT + 1;
+    private static final int MAX_EPOCH = SUM + 1;
+    private static final int MAX = MAX_EPOCH + MAX_BUFFERS;
+    private static final int BUCKETS = MAX + MAX_BUFFERS;
+
+    private final String counterName;
+    private final String latencyName;
+    private final String counterHelp;
+    private final Labels constLabels;
+    private final int stripeMask;
+    private final Clock clock;
+
+    private final ConcurrentMap<Key, Series> series = new ConcurrentHashMap<>();
+
+    public StripedHttpSeries(
+        PrometheusRegistry prometheusRegistry,
+        String counterName,
+        String counterHelp,
+        String latencyName,
+        Tags commonTags,
+        int stripes,
+        Clock clock
+    ) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be at least 1: " + stripes);
+        }
+        this.counterName = counterName.endsWith("_total")
+            ? counterName.substring(0, counterName.length() - "_total".length())
+            : counterName;
+        this.counterHelp = counterHelp;
+        this.latencyName = latencyName;
+        // Rounded up to a power of two so a mask picks the stripe.
+        this.stripeMask = (stripes == 1) ? 0 : (Integer.highestOneBit(stripes - 1) << 1) - 1;
+        this.clock = clock;
+
+        Labels labels = Labels.EMPTY;
+        for (Tag tag : commonTags) {
+            labels = labels.add(tag.getKey(), tag.getValue());
+        }
+        this.constLabels = labels;
+
+        prometheusRegistry.register(this);
+    }
+
+    // boundsNanos are the finite bucket bounds, or null for a counter-only series.
+    Series register(String method, String path, int status, long[] boundsNanos) {
+        return series.computeIfAbsent(new Key(method, path, status), key -> new Series(key, boundsNanos));
+    }
+
+    @Override
+    public List<String> getPrometheusNames() {
+        return List.of(counterName, latencyName, latencyName + "_max");
+    }
+
+    @Override
+    public MetricSnapshots collect() {
+        long epoch = clock.wallTime() / MAX_ROTATE_MILLIS;
+        List<CounterSnapshot.CounterDataPointSnapshot> counts = new ArrayList<>();
+        List<HistogramSnapshot.HistogramDataPointSnapshot> histograms = new ArrayList<>();
+        List<GaugeSnapshot.GaugeDataPointSnapshot> maxima = new ArrayList<>();
+
+        for (Series s : series.values()) {
+            s.collect(epoch, counts, histograms, maxima);
+        }
+
+        List<MetricSnapshot> snapshots = new ArrayList<>(3);
+        if (!counts.isEmpty()) {
+            snapshots.add(new CounterSnapshot(new MetricMetadata(counterName, counterHelp), counts));
+        }
+        if (!histograms.isEmpty()) {
+            snapshots.add(new HistogramSnapshot(
+                new MetricMetadata(latencyName, HttpLatencyHistograms.DESCRIPTION), histograms));
+            snapshots.add(new GaugeSnapshot(
+                new MetricMetadata(latencyName + "_max", HttpLatencyHistograms.DESCRIPTION), maxima));
+        }
+        return new MetricSnapshots(snapshots);
+    }
+
+    private int stripe() {
+        // Virtual threads get a fresh id per request, so they spread over the stripes as well.
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+    }
+
+    final class Series implements HttpServerMetrics.SeriesMeter {
+
+        private final Key key;
+        private final Labels labels;
+        private final long[] bounds;
+        private final double[] upperBoundsSeconds;
+        private final AtomicReferenceArray<long[]> cells;
+
+        private Series(Key key, long[] bounds) {
+            this.key = key;
+            this.labels = constLabels.merge(Labels.of(
+                "method", key.method(),
+                "path", key.path(),
+                "status", String.valueOf(key.status())
+            ));
+            this.bounds = bounds;
+            if (bounds != null) {
+                this.upperBoundsSeconds = new double[bounds.length + 1];
+                for (int i = 0; i < bounds.length; i++) {
+                    upperBoundsSeconds[i] = bounds[i] / 1e9;
+                }
+                upperBoundsSeconds[bounds.length] = Double.POSITIVE_INFINITY;
+            } else {
+                this.upperBoundsSeconds = null;
+            }
+            this.cells = new AtomicReferenceArray<>(stripeMask + 1);
+        }
+
+        @Override
+        public void record(long durationNanos) {
+            long[] cell = cell(stripe());
+            LONGS.getAndAdd(cell, COUNT, 1L);
+            // Micrometer timers ignore negative durations but still count the request.
+            if (bounds == null || durationNanos < 0) {
+                return;
+            }
+            LONGS.getAndAdd(cell, SUM, durationNanos);
+            LONGS.getAndAdd(cell, BUCKETS + bucket(durationNanos), 1L);
+            updateMax(cell, durationNanos);
+        }
+
+        @Override
+        public void remove() {
+            series.remove(key, this);
+        }
+
+        private long[] cell(int stripe) {
+            long[] cell = cells.get(stripe);
+            if (cell == null) {
+                long[] created = new long[BUCKETS + ((bounds != null) ? bounds.length + 1 : 0) + PAD];
+                cell = cells.compareAndExchange(stripe, null, created);
+                if (cell == null) {
+                    cell = created;
+                }
+            }
+            return cell;
+        }
+
+        // Index of the first bound at or above the value (le semantics); bounds.length for +Inf.
+        private int bucket(long value) {
+            int index = Arrays.binarySearch(bounds, value);
+            return (index >= 0) ? index : -index - 1;
+        }
+
+        private void updateMax(long[] cell, long value) {
+            long epoch = clock.wallTime() / MAX_ROTATE_MILLIS;
+            int buffer = (int) (epoch % MAX_BUFFERS);
+            long seen = (long) LONGS.getOpaque(cell, MAX_EPOCH + buffer);
+            if (seen != epoch && LONGS.compareAndSet(cell, MAX_EPOCH + buffer, seen, epoch)) {
+                LONGS.setVolatile(cell, MAX + buffer, value);
+                return;
+            }
+            long current = (long) LONGS.getOpaque(cell, MAX + buffer);
+            while (value > current) {
+                long witness = (long) LONGS.compareAndExchange(cell, MAX + buffer, current, value);
+                if (witness == current) {
+                    return;
+                }
+                current = witness;
+            }
+        }
+
+        private void collect(
+            long epoch,
+            List<CounterSnapshot.CounterDataPointSnapshot> counts,
+            List<HistogramSnapshot.HistogramDataPointSnapshot> histograms,
+            List<GaugeSnapshot.GaugeDataPointSnapshot> maxima
+        ) {
+            long count = 0;
+            long sum = 0;
+            long max = 0;
+            long[] buckets = (bounds != null) ? new long[bounds.length + 1] : null;
+
+            for (int i = 0; i < cells.length(); i++) {
+                long[] cell = cells.get(i);
+                if (cell == null) {
+                    continue;
+                }
+                count += (long) LONGS.getVolatile(cell, COUNT);
+                if (buckets == null) {
+                    continue;
+                }
+                sum += (long) LONGS.getVolatile(cell, SUM);
+                for (int b = 0; b < buckets.length; b++) {
+                    buckets[b] += (long) LONGS.getVolatile(cell, BUCKETS + b);
+                }
+                for (int b = 0; b < MAX_BUFFERS; b++) {
+                    if (epoch - (long) LONGS.getVolatile(cell, MAX_EPOCH + b) < MAX_BUFFERS) {
+                        max = Math.max(max, (long) LONGS.getVolatile(cell, MAX + b));
+                    }
+                }
+            }
+
+            counts.add(new CounterSnapshot.CounterDataPointSnapshot(count, labels, null, 0L));
+            if (buckets != null) {
+                histograms.add(new HistogramSnapshot.HistogramDataPointSnapshot(
+                    ClassicHistogramBuckets.of(upperBoundsSeconds, buckets),
+                    sum / 1e9,
+                    labels,
+                    Exemplars.EMPTY,
+                    0L
+                ));
+                maxima.add(new GaugeSnapshot.GaugeDataPointSnapshot(max / 1e9, labels, null));
+            }
+        }
+    }
+
+    private record Key(String method, String path, int status) { }
+}
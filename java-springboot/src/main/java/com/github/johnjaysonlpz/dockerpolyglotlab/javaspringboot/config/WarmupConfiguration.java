@@ -0,0 +1,124 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupRunner;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupTraffic;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web.HttpLoggingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationPredicate;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping;
+
+@Configuration
+public class WarmupConfiguration {
+
+    @Bean
+    WarmupTraffic warmupTraffic(ServiceProperties props) {
+        return new WarmupTraffic(MetricsConfiguration.newHttpServerMetrics(
+            new SimpleMeterRegistry(),
+            new PrometheusRegistry(),
+            props
+        ));
+    }
+
+    // Keeps warm-up requests out of Spring's own http.server.requests observation, which records
+    // into the main registry independently of HttpLoggingFilter.
+    @Bean
+    ObservationPredicate warmupObservationPredicate(WarmupTraffic traffic) {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext request
+            && traffic.matches(request.getCarrier()));
+    }
+
+    // Runs synchronously inside ApplicationReadyEvent: Spring Boot publishes ACCEPTING_TRAFFIC only
+    // after the ready listeners return, so readiness stays REFUSING_TRAFFIC for the whole warm-up.
+    // Only applies when a real web server is running (not under MockMvc).
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> warmupRunner(
+        WarmupTraffic traffic,
+        ServiceProperties props,
+        MeterRegistry registry
+    ) {
+        ServiceProperties.Warmup warmup = props.getWarmup();
+        WarmupRunner runner = new WarmupRunner(
+            traffic,
+            warmup.getIterations(),
+            warmup.getConcurrency(),
+            warmup.getTimeout(),
+            registry
+        );
+
+        return event -> {
+            ApplicationContext context = event.getApplicationContext();
+            if (!warmup.isEnabled()
+                || !(context instanceof WebServerApplicationContext web)
+                || web.getWebServer() == null) {
+                return;
+            }
+
+            AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+            runner.run(targets(context, host(web.getWebServer()), web.getWebServer().getPort()));
+            AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+        };
+    }
+
+    // Every GET-able business route without path variables or wildcards. Infra routes are left
+    // out: they do not exercise the business path, and scrapes and probes would still record into
+    // the main registry. So is the error page (it only renders meaningfully on an error dispatch).
+    private static List<URI> targets(ApplicationContext context, String host, int port) {
+        Set<String> routes = new LinkedHashSet<>();
+        context.getBeansOfType(RequestMappingInfoHandlerMapping.class)
+            .values()
+            .forEach(mapping -> mapping.getHandlerMethods()
+                .keySet()
+                .stream()
+                .filter(WarmupConfiguration::acceptsGet)
+                .forEach(info -> routes.addAll(info.getPatternValues())));
+
+        List<URI> targets = new ArrayList<>();
+        for (String route : routes) {
+            if (route.contains("{") || route.contains("*") || route.equals("/error")
+                || HttpLoggingFilter.isInfraPath(route)) {
+                continue;
+            }
+            targets.add(URI.create("http://" + host + ":" + port + route));
+        }
+        return targets;
+    }
+
+    // The address the main connector is bound to (app.host); loopback when it listens on all
+    // interfaces, or when the address is not known.
+    private static String host(WebServer server) {
+        if (server instanceof TomcatWebServer tomcat
+            && tomcat.getTomcat().getConnector().getProperty("address") instanceof InetAddress address
+            && !address.isAnyLocalAddress()) {
+            return (address instanceof Inet6Address) ? "[" + address.getHostAddress() + "]" : address.getHostAddress();
+        }
+        return "127.0.0.1";
+    }
+
+    private static boolean acceptsGet(RequestMappingInfo info) {
+        Set<RequestMethod> methods = info.getMethodsCondition().getMethods();
+        return methods.isEmpty() || methods.contains(RequestMethod.GET);
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Per-client token bucket in GCRA form: each client is a single "theoretical arrival time" (TAT)
+// that advances by one emission interval per admitted request. A request is admitted while the
+// TAT is at most `burst - 1` intervals ahead of now, so one CAS on a long replaces the usual
+// tokens + timestamp pair.
+//
+// Clients live in a fixed set-associative table (sets of WAYS slots, chosen by key hash), so memory
+// is bounded by max-clients regardless of how many addresses are seen. A new client takes a free
+// slot in its set or evicts the slot whose TAT is furthest in the past, i.e. the client that has
+// been idle longest: an approximate LRU within the set. Slot reuse races are tolerated; at worst a
+// client briefly shares or loses its bucket, which only makes the limiter more lenient.
+public class ClientRateLimiter {
+
+    private static final int WAYS = 8;
+
+    private final long emissionNanos;
+    private final long toleranceNanos;
+    private final int setMask;
+    private final AtomicReferenceArray<String> keys;
+    private final AtomicLongArray tats;
+    private final Counter throttled;
+    private final LongSupplier nanoClock;
+    private final long epoch;
+
+    public ClientRateLimiter(long limit, Duration period, int burst, int maxClients, MeterRegistry registry) {
+        this(limit, period, burst, maxClients, registry, System::nanoTime);
+    }
+
+    ClientRateLimiter(
+        long limit,
+        Duration period,
+        int burst,
+        int maxClients,
+        MeterRegistry registry,
+        LongSupplier nanoClock
+    ) {
+        this.emissionNanos = Math.max(1, period.toNanos() / limit);
+        this.toleranceNanos = emissionNanos * (burst - 1);
+
+        int sets = 1;
+        while (sets * WAYS < maxClients) {
+            sets <<= 1;
+        }
+        this.setMask = sets - 1;
+        this.keys = new AtomicReferenceArray<>(sets * WAYS);
+        this.tats = new AtomicLongArray(sets * WAYS);
+
+        this.throttled = Counter.builder("http_requests_throttled_total")
+            .description("Requests rejected with 429 by the per-client rate limit.")
+            .register(registry);
+
+        this.nanoClock = nanoClock;
+        // TATs are kept relative to construction so that 0 always means "long ago".
+        this.epoch = nanoClock.getAsLong() - 1;
+    }
+
+    // Returns 0 if the request is admitted, otherwise the nanoseconds until it would be.
+    public long tryAcquire(String client) {
+        long now = nanoClock.getAsLong() - epoch;
+        int base = (spread(client.hashCode()) & setMask) * WAYS;
+        int slot = slotFor(client, base);
+
+        while (true) {
+            long tat = tats.get(slot);
+            long start = Math.max(tat, now);
+            long ahead = start - now;
+            if (ahead > toleranceNanos) {
+                throttled.increment();
+                return ahead - toleranceNanos;
+            }
+            if (tats.compareAndSet(slot, tat, start + emissionNanos)) {
+                return 0;
+            }
+            if (!client.equals(keys.get(slot))) {
+                slot = slotFor(client, base);
+            }
+        }
+    }
+
+    private int slotFor(String client, int base) {
+        int victim = base;
+        long oldest = Long.MAX_VALUE;
+        for (int i = base; i < base + WAYS; i++) {
+            String key = keys.get(i);
+            if (key == null) {
+                if (keys.compareAndSet(i, null, client)) {
+                    return i;
+                }
+                key = keys.get(i);
+            }
+            if (client.equals(key)) {
+                return i;
+            }
+            long tat = tats.get(i);
+            if (tat < oldest) {
+                oldest = tat;
+                victim = i;
+            }
+        }
+
+        keys.set(victim, client);
+        tats.set(victim, 0);
+        return victim;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    int capacity() {
+        return keys.length();
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Gradient-style adaptive concurrency limit. Once per sample window the average latency of the
+// window (short RTT) is compared with a slow moving average (long RTT):
+//
+//   gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+//   limit    = limit * gradient + sqrt(limit)      (smoothed, clamped to [min, max])
+//
+// While latency holds steady the sqrt(limit) headroom lets the limit grow; once queueing pushes
+// latency above tolerance * longRtt, the gradient shrinks the limit. Windows in which the service
+// used less than half of the limit are ignored, so idle periods neither raise nor lower it.
+public class GradientConcurrencyLimiter {
+
+    private static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double LONG_RTT_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final Counter shedCounter;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile long windowStart;
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    public GradientConcurrencyLimiter(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double tolerance,
+        double smoothing,
+        Duration window,
+        MeterRegistry registry
+    ) {
+        this(initialLimit, minLimit, maxLimit, tolerance, smoothing, window, registry, System::nanoTime);
+    }
+
+    GradientConcurrencyLimiter(
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double tolerance,
+        double smoothing,
+        Duration window,
+        MeterRegistry registry,
+        LongSupplier nanoClock
+    ) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+        this.windowStart = nanoClock.getAsLong();
+
+        Gauge.builder("http_concurrency_limit", this, GradientConcurrencyLimiter::limit)
+            .description("Current adaptive limit on concurrently processed requests.")
+            .register(registry);
+
+        Gauge.builder("http_inflight_requests", this, GradientConcurrencyLimiter::inflight)
+            .description("Requests currently holding a concurrency permit.")
+            .register(registry);
+
+        this.shedCounter = Counter.builder("http_requests_shed_total")
+            .description("Requests rejected with 503 because the concurrency limit was reached.")
+            .register(registry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                shed.increment();
+                shedCounter.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos) {
+        inflight.decrementAndGet();
+        windowRttSum.add(rttNanos);
+        windowSamples.increment();
+
+        long now = nanoClock.getAsLong();
+        if (now - windowStart >= windowNanos && updateLock.tryLock()) {
+            try {
+                if (now - windowStart >= windowNanos) {
+                    update(now);
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    private void update(long now) {
+        if (windowSamples.sum() < MIN_WINDOW_SAMPLES) {
+            return;
+        }
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        int maxInflight = windowMaxInflight.getAndSet(inflight.get());
+        windowStart = now;
+
+        double shortRtt = Math.max(1.0, (double) rttSum / samples);
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) * LONG_RTT_ALPHA;
+        }
+        // Latency dropped well below the baseline (e.g. after a slow dependency recovered):
+        // pull the baseline down faster than the moving average would.
+        if (longRttNanos / shortRtt > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        if (maxInflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        next = estimatedLimit * (1 - smoothing) + next * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    public long shedCount() {
+        return shed.sum();
+    }
+}
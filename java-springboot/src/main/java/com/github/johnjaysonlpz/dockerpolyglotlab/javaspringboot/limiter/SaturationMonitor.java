@@ -0,0 +1,99 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ReadinessStateHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+// Polled on a fixed delay. When the limiter has been shedding on every poll for the saturation
+// period, readiness is switched to REFUSING_TRAFFIC so the load balancer drains the pod; after a
+// full recovery period without shedding it is switched back. Readiness is only restored if this
+// monitor was the one that refused it, and never once shutdown has started.
+public class SaturationMonitor implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(SaturationMonitor.class);
+
+    private final GradientConcurrencyLimiter limiter;
+    private final ApplicationEventPublisher publisher;
+    private final ReadinessStateHolder readiness;
+    private final long saturationNanos;
+    private final long recoveryNanos;
+    private final LongSupplier nanoClock;
+
+    private long lastShed;
+    private long saturatedSince = -1;
+    private long calmSince = -1;
+    private boolean draining;
+
+    public SaturationMonitor(
+        GradientConcurrencyLimiter limiter,
+        ApplicationEventPublisher publisher,
+        ReadinessStateHolder readiness,
+        Duration saturationPeriod,
+        Duration recoveryPeriod
+    ) {
+        this(limiter, publisher, readiness, saturationPeriod, recoveryPeriod, System::nanoTime);
+    }
+
+    SaturationMonitor(
+        GradientConcurrencyLimiter limiter,
+        ApplicationEventPublisher publisher,
+        ReadinessStateHolder readiness,
+        Duration saturationPeriod,
+        Duration recoveryPeriod,
+        LongSupplier nanoClock
+    ) {
+        this.limiter = limiter;
+        this.publisher = publisher;
+        this.readiness = readiness;
+        this.saturationNanos = saturationPeriod.toNanos();
+        this.recoveryNanos = recoveryPeriod.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastShed = limiter.shedCount();
+    }
+
+    @Override
+    public synchronized void run() {
+        long now = nanoClock.getAsLong();
+        long shed = limiter.shedCount();
+        boolean shedding = shed > lastShed;
+        lastShed = shed;
+
+        if (shedding) {
+            calmSince = -1;
+            if (saturatedSince < 0) {
+                saturatedSince = now;
+            }
+            if (!draining
+                && now - saturatedSince >= saturationNanos
+                && readiness.getState() == ReadinessState.ACCEPTING_TRAFFIC) {
+                draining = true;
+                log.warn("load_shed_readiness state=REFUSING_TRAFFIC limit={} inflight={}",
+                    limiter.limit(), limiter.inflight());
+                AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+            return;
+        }
+
+        saturatedSince = -1;
+        if (!draining) {
+            return;
+        }
+        if (calmSince < 0) {
+            calmSince = now;
+        }
+        if (now - calmSince >= recoveryNanos) {
+            draining = false;
+            calmSince = -1;
+            if (readiness.getState() == ReadinessState.REFUSING_TRAFFIC && !readiness.isShuttingDown()) {
+                log.info("load_shed_readiness state=ACCEPTING_TRAFFIC limit={}", limiter.limit());
+                AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.logfile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
+// Logback appender over MappedSegmentWriter. Sizes and durations use the same notation as
+// application.yaml ("64MB", "1h") so they can be fed from app.log-file.* via <springProperty>.
+// When disabled it starts without touching the filesystem and ignores every event.
+public class MappedFileAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private Encoder<ILoggingEvent> encoder;
+    private boolean enabled;
+    private String directory = "logs";
+    private String prefix = "app";
+    private String segmentSize = "64MB";
+    private String rollInterval = "1h";
+    private String flushInterval = "1s";
+    private int maxSegments = 10;
+
+    private MappedSegmentWriter writer;
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            super.start();
+            return;
+        }
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "].");
+            return;
+        }
+        try {
+            writer = new MappedSegmentWriter(
+                Path.of(directory),
+                prefix,
+                DataSize.parse(segmentSize).toBytes(),
+                DurationStyle.detectAndParse(rollInterval),
+                DurationStyle.detectAndParse(flushInterval),
+                maxSegments
+            );
+        } catch (IOException | RuntimeException ex) {
+            addError("Failed to open log segments in [" + directory + "] for [" + name + "].", ex);
+            return;
+        }
+        encoder.start();
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        MappedSegmentWriter current = writer;
+        if (current == null) {
+            return;
+        }
+        byte[] bytes = encoder.encode(event);
+        try {
+            current.append(bytes, 0, bytes.length);
+        } catch (IOException ex) {
+            addError("Failed to append log event to [" + current.currentSegment() + "].", ex);
+        }
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        MappedSegmentWriter current = writer;
+        writer = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ex) {
+                addError("Failed to close log segment for [" + name + "].", ex);
+            }
+        }
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public void setSegmentSize(String segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public void setRollInterval(String rollInterval) {
+        this.rollInterval = rollInterval;
+    }
+
+    public void setFlushInterval(String flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+}
@@ -0,0 +1,265 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.logfile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Appends newline-terminated records to memory-mapped segment files named <prefix>-<sequence>.log.
+// Each segment is mapped at its full size up front, so an append is a memory copy; the mapping is
+// forced to disk on a fixed interval rather than per record. While it is written, a segment is named
+// <prefix>-<sequence>.log.active: log shippers matching *.log never see its zero-filled tail. It is
+// rolled when the next record does not fit or when it is older than the roll interval, then trimmed
+// to its written length and renamed to .log. Segments left active by a crash are cut back to their
+// last complete record and renamed on open.
+public final class MappedSegmentWriter implements Closeable {
+
+    private static final String SUFFIX = ".log";
+    private static final String ACTIVE_SUFFIX = ".active";
+
+    private final Path directory;
+    private final String prefix;
+    private final Pattern segmentPattern;
+    private final int segmentSize;
+    private final long rollIntervalNanos;
+    private final int maxSegments;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    private long sequence;
+    private Path segmentPath;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long segmentOpenedNanos;
+    private int forcedPosition;
+    private boolean closed;
+
+    public MappedSegmentWriter(
+        Path directory,
+        String prefix,
+        long segmentSize,
+        Duration rollInterval,
+        Duration flushInterval,
+        int maxSegments
+    ) throws IOException {
+        this(directory, prefix, segmentSize, rollInterval, flushInterval, maxSegments, System::nanoTime);
+    }
+
+    MappedSegmentWriter(
+        Path directory,
+        String prefix,
+        long segmentSize,
+        Duration rollInterval,
+        Duration flushInterval,
+        int maxSegments,
+        LongSupplier nanoClock
+    ) throws IOException {
+        if (segmentSize < 4096 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize must be between 4KB and 2GB: " + segmentSize);
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("maxSegments must be positive: " + maxSegments);
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentPattern = Pattern.compile(
+            Pattern.quote(prefix) + "-(\\d+)" + Pattern.quote(SUFFIX) + "(" + Pattern.quote(ACTIVE_SUFFIX) + ")?");
+        this.segmentSize = (int) segmentSize;
+        this.rollIntervalNanos = rollInterval.toNanos();
+        this.maxSegments = maxSegments;
+        this.nanoClock = nanoClock;
+
+        Files.createDirectories(directory);
+        List<Segment> existing = segments();
+        for (Segment segment : existing) {
+            recover(segment.path());
+            if (segment.active()) {
+                Files.move(segment.path(), finishedPath(segment.sequence()), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        this.sequence = existing.isEmpty() ? 0 : existing.get(existing.size() - 1).sequence();
+        openNextSegment();
+
+        if (flushInterval.isZero()) {
+            this.flusher = null;
+        } else {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "log-file-flusher-" + prefix);
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalNanos = flushInterval.toNanos();
+            flusher.scheduleWithFixedDelay(this::flush, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void append(byte[] record, int offset, int length) throws IOException {
+        if (length > segmentSize) {
+            throw new IOException("Record of " + length + " bytes exceeds segment size " + segmentSize);
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Writer for " + prefix + " is closed");
+            }
+            if (buffer.remaining() < length || nanoClock.getAsLong() - segmentOpenedNanos >= rollIntervalNanos) {
+                roll();
+            }
+            buffer.put(record, offset, length);
+            if (flusher == null) {
+                forceDirty();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        lock.lock();
+        try {
+            if (!closed) {
+                forceDirty();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Path currentSegment() {
+        lock.lock();
+        try {
+            return segmentPath;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeSegment();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void forceDirty() {
+        int position = buffer.position();
+        if (position > forcedPosition) {
+            buffer.force(forcedPosition, position - forcedPosition);
+            forcedPosition = position;
+        }
+    }
+
+    private void roll() throws IOException {
+        closeSegment();
+        openNextSegment();
+        deleteExpiredSegments();
+    }
+
+    private void openNextSegment() throws IOException {
+        sequence++;
+        segmentPath = directory.resolve(String.format("%s-%08d%s%s", prefix, sequence, SUFFIX, ACTIVE_SUFFIX));
+        channel = FileChannel.open(
+            segmentPath,
+            StandardOpenOption.CREATE_NEW,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        );
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentOpenedNanos = nanoClock.getAsLong();
+        forcedPosition = 0;
+    }
+
+    private void closeSegment() throws IOException {
+        forceDirty();
+        int written = buffer.position();
+        buffer = null;
+        try (FileChannel current = channel) {
+            current.truncate(written);
+        }
+        channel = null;
+        Files.move(segmentPath, finishedPath(sequence), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path finishedPath(long sequence) {
+        return directory.resolve(String.format("%s-%08d%s", prefix, sequence, SUFFIX));
+    }
+
+    // The active segment counts towards maxSegments.
+    private void deleteExpiredSegments() throws IOException {
+        List<Segment> segments = segments();
+        for (int i = 0; i < segments.size() - maxSegments; i++) {
+            Files.deleteIfExists(segments.get(i).path());
+        }
+    }
+
+    private List<Segment> segments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                Matcher matcher = segmentPattern.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.add(new Segment(Long.parseLong(matcher.group(1)), path, matcher.group(2) != null));
+                }
+            });
+        }
+        segments.sort((a, b) -> Long.compare(a.sequence(), b.sequence()));
+        return segments;
+    }
+
+    // A cleanly closed segment ends in '\n'. Anything else was still mapped when the process died:
+    // the written region ends at the first zero byte (records never contain one), and a record
+    // that was being copied at that moment has no newline yet.
+    static long recover(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = file.size();
+            if (size == 0) {
+                return 0;
+            }
+            MappedByteBuffer contents = file.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (contents.get((int) size - 1) == '\n') {
+                return size;
+            }
+            int complete = 0;
+            for (int i = 0; i < size; i++) {
+                byte b = contents.get(i);
+                if (b == 0) {
+                    break;
+                }
+                if (b == '\n') {
+                    complete = i + 1;
+                }
+            }
+            file.truncate(complete);
+            return complete;
+        }
+    }
+
+    private record Segment(long sequence, Path path, boolean active) { }
+}
@@ -0,0 +1,113 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Time-bounded JFR recordings for /debug/profile, one at a time. The recording enables only the
+// events the summary reads, with thresholds that keep the overhead of a live pod low:
+// - jdk.ExecutionSample every 10ms (CPU: where running Java threads are);
+// - jdk.ObjectAllocationSample throttled to 150/s (allocation, weighted by bytes);
+// - jdk.JavaMonitorEnter and jdk.ThreadPark over 10ms (synchronized and lock waits);
+// - jdk.VirtualThreadPinned over 20ms (virtual threads blocking while pinned to their carrier).
+@Component
+public class JfrProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrProfiler.class);
+
+    private final boolean enabled;
+    private final String token;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final Semaphore running = new Semaphore(1);
+
+    // ServiceProperties validates that default-duration fits max-duration and that an enabled
+    // profiler has a token unless /debug is confined to the management port.
+    public JfrProfiler(ServiceProperties props) {
+        ServiceProperties.Profiling config = props.getProfiling();
+        this.enabled = config.isEnabled();
+        this.token = config.hasToken() ? config.getToken().trim() : "";
+        this.defaultDuration = config.getDefaultDuration();
+        this.maxDuration = config.getMaxDuration();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The native image only has JFR when built with --enable-monitoring=jfr.
+    public boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public Duration defaultDuration() {
+        return defaultDuration;
+    }
+
+    public Duration maxDuration() {
+        return maxDuration;
+    }
+
+    public boolean isRecording() {
+        return running.availablePermits() == 0;
+    }
+
+    // Records for the given duration and dumps to a temporary file the caller deletes. Returns null
+    // when another recording is still running.
+    public Path record(Duration duration) throws IOException {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new IllegalArgumentException("duration must be between 1s and " + maxDuration.toSeconds() + "s");
+        }
+        if (!running.tryAcquire()) {
+            return null;
+        }
+        try (Recording recording = new Recording()) {
+            recording.setName("debug-profile");
+            recording.setToDisk(true);
+            recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+            recording.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(10)).withStackTrace();
+            recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(10)).withStackTrace();
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(20)).withStackTrace();
+
+            log.info("profile_started duration_s={}", duration.toSeconds());
+            recording.start();
+            sleep(duration);
+            recording.stop();
+
+            Path file = Files.createTempFile("profile-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+            log.info("profile_complete duration_s={} bytes={}", duration.toSeconds(), Files.size(file));
+            return file;
+        } finally {
+            running.release();
+        }
+    }
+
+    // An interrupt ends the recording early; what was captured so far is still returned.
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
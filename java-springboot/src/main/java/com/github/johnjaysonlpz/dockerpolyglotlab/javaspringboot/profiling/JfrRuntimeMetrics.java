@@ -0,0 +1,148 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Runtime stalls from an in-process JFR RecordingStream: virtual threads pinned to their carrier,
+// GC pauses, time-to-safepoint and contended locks, each as a timer with fixed stall buckets. Only
+// events over their threshold are recorded, and without stack traces, so the stream stays cheap
+// enough to leave on. Events are delivered in batches about once a second on the stream's own thread, which
+// is the only thread recording into these timers.
+public class JfrRuntimeMetrics implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRuntimeMetrics.class);
+
+    private static final Duration[] STALL_BUCKETS = {
+        Duration.ofMillis(1),
+        Duration.ofMillis(5),
+        Duration.ofMillis(10),
+        Duration.ofMillis(25),
+        Duration.ofMillis(50),
+        Duration.ofMillis(100),
+        Duration.ofMillis(250),
+        Duration.ofMillis(500),
+        Duration.ofSeconds(1),
+        Duration.ofMillis(2500)
+    };
+
+    private final ServiceProperties.JfrMetrics config;
+    private MeterRegistry registry;
+    private Timer pinned;
+    private Timer safepoints;
+    private Timer monitorWaits;
+    private Timer lockWaits;
+    private RecordingStream stream;
+    private boolean closed;
+
+    public JfrRuntimeMetrics(ServiceProperties.JfrMetrics config) {
+        this.config = config;
+    }
+
+    // Registers the meters only. Starting the stream costs seconds and megabytes of JFR setup, so
+    // it is left to start(), which runs once the application is ready. GC pause timers are
+    // registered per collector as the first collections arrive.
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (!config.isEnabled() || this.registry != null) {
+            return;
+        }
+        // The native image only has JFR when built with --enable-monitoring=jfr.
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("jfr_metrics_unavailable JFR is not available in this runtime");
+            return;
+        }
+
+        this.registry = registry;
+        this.pinned = stallTimer("jfr_virtual_thread_pinned_seconds",
+            "Time virtual threads stayed pinned to their carrier while blocked.").register(registry);
+        this.safepoints = stallTimer("jfr_safepoint_seconds",
+            "Time to safepoint: from the safepoint request until all Java threads had stopped.").register(registry);
+        this.monitorWaits = stallTimer("jfr_lock_wait_seconds", "Time threads waited for a contended lock.")
+            .tag("kind", "monitor")
+            .register(registry);
+        this.lockWaits = stallTimer("jfr_lock_wait_seconds", "Time threads waited for a contended lock.")
+            .tag("kind", "lock")
+            .register(registry);
+    }
+
+    // One stream per process, recording into the registry this was first bound to. Does nothing
+    // when unbound, already started or closed.
+    public synchronized void start() {
+        if (registry == null || stream != null || closed) {
+            return;
+        }
+        MeterRegistry registry = this.registry;
+        Timer pinned = this.pinned;
+        Timer safepoints = this.safepoints;
+        Timer monitorWaits = this.monitorWaits;
+        Timer lockWaits = this.lockWaits;
+        Map<String, Timer> gcPauses = new HashMap<>();
+
+        RecordingStream rs = new RecordingStream();
+        rs.enable("jdk.VirtualThreadPinned").withThreshold(config.getPinnedThreshold()).withoutStackTrace();
+        rs.enable("jdk.GarbageCollection");
+        rs.enable("jdk.SafepointBegin").withThreshold(config.getSafepointThreshold());
+        rs.enable("jdk.JavaMonitorEnter").withThreshold(config.getLockThreshold()).withoutStackTrace();
+        rs.enable("jdk.ThreadPark").withThreshold(config.getLockThreshold()).withoutStackTrace();
+
+        rs.onEvent("jdk.VirtualThreadPinned", event -> pinned.record(event.getDuration()));
+        // SafepointBegin lasts until every thread has reached the safepoint, not until they resume:
+        // this is time-to-safepoint, the part of the pause spent waiting on slow-to-stop threads.
+        rs.onEvent("jdk.SafepointBegin", event -> safepoints.record(event.getDuration()));
+        rs.onEvent("jdk.JavaMonitorEnter", event -> monitorWaits.record(event.getDuration()));
+        rs.onEvent("jdk.ThreadPark", event -> {
+            if (JfrSummary.isLockWait(event.getClass("parkedClass"))) {
+                lockWaits.record(event.getDuration());
+            }
+        });
+        // A collection's duration includes its concurrent phases; the pauses are what stall requests.
+        rs.onEvent("jdk.GarbageCollection", event -> gcPauses
+            .computeIfAbsent(event.getString("name"), collector -> stallTimer(
+                "jfr_gc_pause_seconds", "Total stop-the-world pause time of each garbage collection.")
+                .tag("collector", collector)
+                .register(registry))
+            .record(event.getDuration("sumOfPauses")));
+        rs.onError(ex -> log.warn("jfr_metrics_error {}", ex.toString()));
+
+        rs.setReuse(true);
+        rs.setOrdered(false);
+        rs.startAsync();
+        stream = rs;
+
+        log.info(
+            "jfr_metrics_started pinned_threshold_ms={} lock_threshold_ms={} safepoint_threshold_ms={}",
+            config.getPinnedThreshold().toMillis(),
+            config.getLockThreshold().toMillis(),
+            config.getSafepointThreshold().toMillis()
+        );
+    }
+
+    synchronized boolean isStarted() {
+        return stream != null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private static Timer.Builder stallTimer(String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .serviceLevelObjectives(STALL_BUCKETS);
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+// Plain-text digest of a JfrProfiler recording, the quick look before opening the .jfr in JMC:
+// - cpu: top frames by execution samples (self time, like pprof's flat view);
+// - allocation: top sites by sampled bytes, keyed by allocated class and allocating frame;
+// - contention: synchronized and ReentrantLock waits by total time;
+// - pinning: virtual threads pinned while blocking, by total time.
+// Waits and pinning always end in JDK frames, so those two are keyed by the first frame outside
+// java.*, jdk.* and sun.*, the code that took the lock or blocked.
+public final class JfrSummary {
+
+    private JfrSummary() {
+    }
+
+    public static String summarize(Path file, int top) throws IOException {
+        Map<String, long[]> cpu = new HashMap<>();
+        Map<String, long[]> allocation = new HashMap<>();
+        Map<String, long[]> contention = new HashMap<>();
+        Map<String, long[]> pinning = new HashMap<>();
+
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> add(cpu, topFrame(event), 1);
+                    case "jdk.ObjectAllocationSample" -> add(
+                        allocation,
+                        className(event.getClass("objectClass")) + " at " + topFrame(event),
+                        event.getLong("weight")
+                    );
+                    case "jdk.JavaMonitorEnter" -> add(
+                        contention,
+                        className(event.getClass("monitorClass")) + " at " + callerFrame(event),
+                        event.getDuration().toNanos()
+                    );
+                    case "jdk.ThreadPark" -> {
+                        if (isLockWait(event.getClass("parkedClass"))) {
+                            add(
+                                contention,
+                                className(event.getClass("parkedClass")) + " at " + callerFrame(event),
+                                event.getDuration().toNanos()
+                            );
+                        }
+                    }
+                    case "jdk.VirtualThreadPinned" -> add(pinning, callerFrame(event), event.getDuration().toNanos());
+                    default -> { }
+                }
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        section(out, "cpu: top frames by execution samples", cpu, top, Unit.COUNT);
+        section(out, "allocation: top sites by sampled bytes", allocation, top, Unit.BYTES);
+        section(out, "contention: lock waits over 10ms by total time", contention, top, Unit.NANOS);
+        section(out, "pinning: pinned virtual threads over 20ms by total time", pinning, top, Unit.NANOS);
+        return out.toString();
+    }
+
+    // Idle pool threads park on conditions for long stretches; only the waits for a lock
+    // (ReentrantLock, ReentrantReadWriteLock: blockers named *Sync) are contention.
+    static boolean isLockWait(RecordedClass parkedClass) {
+        return parkedClass != null && parkedClass.getName().endsWith("Sync");
+    }
+
+    private enum Unit {
+        COUNT,
+        BYTES,
+        NANOS
+    }
+
+    // Each entry is {total, events}.
+    private static void add(Map<String, long[]> totals, String key, long amount) {
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0] += amount;
+        total[1]++;
+    }
+
+    private static void section(StringBuilder out, String title, Map<String, long[]> totals, int top, Unit unit) {
+        long sum = 0;
+        long events = 0;
+        for (long[] total : totals.values()) {
+            sum += total[0];
+            events += total[1];
+        }
+        out.append(title).append(" (").append(events).append(" events, ").append(format(sum, unit)).append(")\n");
+
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(totals.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        for (Map.Entry<String, long[]> entry : entries.subList(0, Math.min(top, entries.size()))) {
+            long total = entry.getValue()[0];
+            out.append(String.format(
+                Locale.ROOT,
+                "  %6.2f%%  %12s  %7d  %s%n",
+                (sum == 0) ? 0.0 : 100.0 * total / sum,
+                format(total, unit),
+                entry.getValue()[1],
+                entry.getKey()
+            ));
+        }
+        out.append('\n');
+    }
+
+    private static String format(long value, Unit unit) {
+        return switch (unit) {
+            case COUNT -> value + " samples";
+            case BYTES -> String.format(Locale.ROOT, "%.1f MB", value / (1024.0 * 1024.0));
+            case NANOS -> String.format(Locale.ROOT, "%.1f ms", value / 1e6);
+        };
+    }
+
+    private static String topFrame(RecordedEvent event) {
+        RecordedStackTrace stack = event.getStackTrace();
+        if (stack == null || stack.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        return frame(stack.getFrames().get(0));
+    }
+
+    private static String callerFrame(RecordedEvent event) {
+        RecordedStackTrace stack = event.getStackTrace();
+        if (stack == null || stack.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        for (RecordedFrame frame : stack.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return frame(frame);
+            }
+        }
+        return frame(stack.getFrames().get(0));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        int line = frame.getLineNumber();
+        return (line > 0) ? method + ":" + line : method;
+    }
+
+    private static String className(RecordedClass type) {
+        return (type == null) ? "<unknown>" : type.getName();
+    }
+}
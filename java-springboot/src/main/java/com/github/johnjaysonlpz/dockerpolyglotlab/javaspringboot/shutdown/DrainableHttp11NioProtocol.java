@@ -0,0 +1,41 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown;
+
+import java.util.concurrent.locks.Lock;
+
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.tomcat.util.net.NioChannel;
+import org.apache.tomcat.util.net.SocketEvent;
+import org.apache.tomcat.util.net.SocketWrapperBase;
+
+// Tomcat's NIO protocol plus a way to close the keep-alive connections that sit idle between two
+// requests, which the public protocol API has no call for. Connectors create their protocol by class
+// name, so this class needs to stay public with a no-argument constructor.
+public class DrainableHttp11NioProtocol extends Http11NioProtocol {
+
+    // A connection is idle when no thread is processing it (Tomcat holds the socket's lock for the
+    // whole of each dispatch) and no processor is parked on it, which rules out upgraded (h2c)
+    // connections and async requests. The close is dispatched like a client disconnect, so it
+    // queues behind a request that arrives in the meantime instead of cutting it off.
+    public int closeIdleConnections() {
+        int closed = 0;
+        for (SocketWrapperBase<NioChannel> wrapper : getEndpoint().getConnections()) {
+            if (wrapper.isClosed()) {
+                continue;
+            }
+            Lock lock = wrapper.getLock();
+            if (!lock.tryLock()) {
+                continue;
+            }
+            boolean idle;
+            try {
+                idle = wrapper.getCurrentProcessor() == null;
+            } finally {
+                lock.unlock();
+            }
+            if (idle && getEndpoint().processSocket(wrapper, SocketEvent.DISCONNECT, true)) {
+                closed++;
+            }
+        }
+        return closed;
+    }
+}
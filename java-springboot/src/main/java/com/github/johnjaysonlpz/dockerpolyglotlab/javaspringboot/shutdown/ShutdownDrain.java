@@ -0,0 +1,187 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ReadinessStateHolder;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.stereotype.Component;
+
+// Prepares the connectors before Spring Boot's graceful shutdown pauses them. A paused connector
+// answers the next request on an open keep-alive connection with a 503 or a reset, so on
+// ContextClosedEvent readiness turns to REFUSING_TRAFFIC and keep-alive is switched off: every
+// response from then on closes its connection. After the propagation delay, once the load balancer
+// has stopped sending new requests, connections still idle between requests are closed as well and
+// their clients reconnect elsewhere. The graceful phase then waits for the requests in flight, and
+// those still running when the web server has stopped are counted as aborted.
+@Component
+public class ShutdownDrain implements ApplicationListener<ContextClosedEvent>, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ShutdownDrain.class);
+
+    private final ServiceProperties props;
+    private final ReadinessStateHolder readiness;
+    private final LongAdder inFlight = new LongAdder();
+    private final Timer drainTime;
+    private final Counter abortedRequests;
+    private final Counter idleConnectionsClosed;
+
+    private volatile boolean running;
+    private volatile long drainStartNanos = -1;
+    private volatile long inFlightAtDrain;
+    private volatile int idleClosed;
+
+    public ShutdownDrain(ServiceProperties props, ReadinessStateHolder readiness, MeterRegistry registry) {
+        this.props = props;
+        this.readiness = readiness;
+
+        Gauge.builder("http_server_requests_in_flight", inFlight, LongAdder::sum)
+            .description("Requests currently inside the filter chain.")
+            .register(registry);
+        this.drainTime = Timer.builder("server_shutdown_drain_seconds")
+            .description("Time from the end of the propagation delay until the web server had stopped.")
+            .register(registry);
+        this.abortedRequests = Counter.builder("server_shutdown_aborted_requests_total")
+            .description("Requests still in flight when the web server stopped.")
+            .register(registry);
+        this.idleConnectionsClosed = Counter.builder("server_shutdown_idle_connections_closed_total")
+            .description("Idle keep-alive connections closed while draining.")
+            .register(registry);
+    }
+
+    public void requestStarted() {
+        inFlight.increment();
+    }
+
+    public void requestFinished() {
+        inFlight.decrement();
+    }
+
+    public long inFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        List<Connector> connectors = connectors(context);
+        Duration delay = props.getDrain().getPropagationDelay();
+
+        readiness.markShuttingDown();
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+        for (Connector connector : connectors) {
+            if (connector.getProtocolHandler() instanceof AbstractHttp11Protocol<?> http) {
+                // Read on every request, so this takes effect on open connections as well.
+                http.setMaxKeepAliveRequests(1);
+            }
+        }
+
+        log.info(
+            "server_draining in_flight={} connections={} propagation_delay_ms={}",
+            inFlight.sum(),
+            connectionCount(connectors),
+            delay.toMillis()
+        );
+        sleep(delay);
+
+        drainStartNanos = System.nanoTime();
+        inFlightAtDrain = inFlight.sum();
+        if (props.getDrain().isCloseIdleConnections()) {
+            int closed = 0;
+            for (Connector connector : connectors) {
+                if (connector.getProtocolHandler() instanceof DrainableHttp11NioProtocol protocol) {
+                    closed += protocol.closeIdleConnections();
+                }
+            }
+            idleClosed = closed;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        long drainNanos = (drainStartNanos >= 0) ? System.nanoTime() - drainStartNanos : 0;
+        long aborted = inFlight.sum();
+
+        drainTime.record(drainNanos, TimeUnit.NANOSECONDS);
+        abortedRequests.increment(aborted);
+        idleConnectionsClosed.increment(idleClosed);
+
+        log.info(
+            "server_shutdown_complete service={} version={} buildTime={} drain_ms={} in_flight_at_drain={} "
+                + "aborted={} idle_connections_closed={}",
+            props.getServiceName(),
+            props.getVersion(),
+            props.getBuildTime(),
+            TimeUnit.NANOSECONDS.toMillis(drainNanos),
+            inFlightAtDrain,
+            aborted,
+            idleClosed
+        );
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the embedded web server (DEFAULT_PHASE - 2048), so whatever is still in flight
+    // then has lost its connection, and before AccessLogPipeline.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 3072;
+    }
+
+    private static List<Connector> connectors(ApplicationContext context) {
+        if (context instanceof WebServerApplicationContext web && web.getWebServer() instanceof TomcatWebServer tomcat) {
+            return List.of(tomcat.getTomcat().getService().findConnectors());
+        }
+        return List.of();
+    }
+
+    private static long connectionCount(List<Connector> connectors) {
+        long count = 0;
+        for (Connector connector : connectors) {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                count += Math.max(protocol.getConnectionCount(), 0);
+            }
+        }
+        return count;
+    }
+
+    // An interrupt cuts the delay short; the drain itself still runs.
+    private static void sleep(Duration delay) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.HttpServerMetrics;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+// Per-route, per-status-class latency over rolling 10s / 1m / 5m windows.
+//
+// Every series owns an HdrHistogram Recorder, so recording is wait-free: a phaser counter and an
+// atomic bucket increment, with no lock shared with readers. rotate() swaps the interval histogram
+// out from under the writers and keeps a packed (sparse) copy in a ring of completed intervals. A
+// window is the merge of its most recent intervals, which gives percentiles from the full
+// distribution (within the configured significant digits) instead of interpolating between
+// Prometheus buckets. Windows advance once per interval.
+public class RollingLatencyStats {
+
+    public static final List<Window> WINDOWS = List.of(
+        new Window("10s", Duration.ofSeconds(10)),
+        new Window("1m", Duration.ofMinutes(1)),
+        new Window("5m", Duration.ofMinutes(5))
+    );
+
+    private static final String[] STATUS_CLASSES = { "1xx", "2xx", "3xx", "4xx", "5xx" };
+
+    private final boolean enabled;
+    private final Duration interval;
+    private final int significantDigits;
+    private final int[] windowIntervals;
+    private final int ringSize;
+
+    private volatile RouteTable routeTable;
+
+    // Guarded by this; only rotate() and snapshot() touch the rings.
+    private int cursor;
+    private long completedIntervals;
+
+    public RollingLatencyStats(boolean enabled, Duration interval, int significantDigits) {
+        this.enabled = enabled;
+        this.interval = interval;
+        this.significantDigits = significantDigits;
+
+        this.windowIntervals = new int[WINDOWS.size()];
+        int longest = 1;
+        for (int i = 0; i < WINDOWS.size(); i++) {
+            long length = WINDOWS.get(i).length().toNanos();
+            windowIntervals[i] = (int) Math.max(1, (length + interval.toNanos() - 1) / interval.toNanos());
+            longest = Math.max(longest, windowIntervals[i]);
+        }
+        this.ringSize = longest;
+        this.routeTable = new RouteTable(Map.of());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration interval() {
+        return interval;
+    }
+
+    // Unknown routes share HttpServerMetrics.OVERFLOW_PATH, so the number of series is bounded by
+    // the handler mappings.
+    public synchronized void registerRoutes(Collection<String> routes) {
+        Map<String, Integer> index = new HashMap<>();
+        for (String route : routes) {
+            index.putIfAbsent(route, index.size());
+        }
+        this.routeTable = new RouteTable(Map.copyOf(index));
+    }
+
+    public void record(String route, int status, long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        RouteTable table = this.routeTable;
+        Integer index = (route != null) ? table.routes.get(route) : null;
+        int routeIndex = (index != null) ? index : table.overflowIndex;
+        int statusClass = Math.min(Math.max(status / 100, 1), STATUS_CLASSES.length) - 1;
+        int slot = routeIndex * STATUS_CLASSES.length + statusClass;
+
+        Series series = table.series.get(slot);
+        if (series == null) {
+            String name = (index != null) ? route : HttpServerMetrics.OVERFLOW_PATH;
+            series = table.create(slot, name, STATUS_CLASSES[statusClass]);
+        }
+        series.recorder.recordValue(durationNanos / 1_000);
+    }
+
+    public synchronized void rotate() {
+        RouteTable table = this.routeTable;
+        for (int i = 0; i < table.series.length(); i++) {
+            Series series = table.series.get(i);
+            if (series == null) {
+                continue;
+            }
+            Histogram completed = series.recorder.getIntervalHistogram(series.recycled);
+            series.recycled = completed;
+            series.ring[cursor] = completed.getTotalCount() == 0 ? null : packedCopy(completed);
+        }
+        cursor = (cursor + 1) % ringSize;
+        completedIntervals++;
+    }
+
+    public synchronized Snapshot snapshot() {
+        RouteTable table = this.routeTable;
+        Map<String, WindowStats> windows = new LinkedHashMap<>();
+
+        for (int w = 0; w < WINDOWS.size(); w++) {
+            int intervals = (int) Math.min(windowIntervals[w], completedIntervals);
+            double seconds = intervals * (interval.toNanos() / 1e9);
+            Map<String, Map<String, SeriesStats>> routes = new TreeMap<>();
+
+            for (int i = 0; intervals > 0 && i < table.series.length(); i++) {
+                Series series = table.series.get(i);
+                if (series == null) {
+                    continue;
+                }
+                Histogram merged = new Histogram(significantDigits);
+                for (int k = 1; k <= intervals; k++) {
+                    PackedHistogram part = series.ring[(cursor - k + ringSize) % ringSize];
+                    if (part != null) {
+                        merged.add(part);
+                    }
+                }
+                if (merged.getTotalCount() == 0) {
+                    continue;
+                }
+                routes.computeIfAbsent(series.route, route -> new TreeMap<>())
+                    .put(series.statusClass, SeriesStats.of(merged, seconds));
+            }
+            windows.put(WINDOWS.get(w).name(), new WindowStats(seconds, routes));
+        }
+        return new Snapshot(interval.toNanos() / 1e9, windows);
+    }
+
+    private PackedHistogram packedCopy(Histogram source) {
+        PackedHistogram copy = new PackedHistogram(significantDigits);
+        copy.add(source);
+        return copy;
+    }
+
+    public record Window(String name, Duration length) { }
+
+    public record Snapshot(double intervalSeconds, Map<String, WindowStats> windows) { }
+
+    public record WindowStats(double seconds, Map<String, Map<String, SeriesStats>> routes) { }
+
+    public record SeriesStats(
+        long count,
+        double ratePerSecond,
+        double p50Ms,
+        double p90Ms,
+        double p99Ms,
+        double p999Ms,
+        double maxMs
+    ) {
+        static SeriesStats of(Histogram histogram, double seconds) {
+            return new SeriesStats(
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50.0)),
+                millis(histogram.getValueAtPercentile(90.0)),
+                millis(histogram.getValueAtPercentile(99.0)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())
+            );
+        }
+
+        private static double millis(long micros) {
+            return micros / 1_000.0;
+        }
+    }
+
+    private final class RouteTable {
+        final Map<String, Integer> routes;
+        final int overflowIndex;
+        final AtomicReferenceArray<Series> series;
+
+        RouteTable(Map<String, Integer> routes) {
+            this.routes = routes;
+            this.overflowIndex = routes.size();
+            this.series = new AtomicReferenceArray<>((routes.size() + 1) * STATUS_CLASSES.length);
+        }
+
+        Series create(int slot, String route, String statusClass) {
+            Series created = new Series(route, statusClass, new Recorder(significantDigits), ringSize);
+            return series.compareAndSet(slot, null, created) ? created : series.get(slot);
+        }
+    }
+
+    private static final class Series {
+        final String route;
+        final String statusClass;
+        final Recorder recorder;
+        final PackedHistogram[] ring;
+        Histogram recycled;
+
+        Series(String route, String statusClass, Recorder recorder, int ringSize) {
+            this.route = route;
+            this.statusClass = statusClass;
+            this.recorder = recorder;
+            this.ring = new PackedHistogram[ringSize];
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Sends `iterations` rounds of GET requests for every route over loopback, through Tomcat, the
+// filter chain and the handlers, so the hot paths are JIT-compiled before the pod takes traffic.
+// `concurrency` clients run the rounds in parallel; the whole run is cut off at `timeout`.
+public class WarmupRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final WarmupTraffic traffic;
+    private final int iterations;
+    private final int concurrency;
+    private final Duration timeout;
+
+    private final AtomicLong completedIterations = new AtomicLong();
+    private final AtomicLong durationNanos = new AtomicLong();
+    private final Counter okRequests;
+    private final Counter failedRequests;
+
+    public WarmupRunner(
+        WarmupTraffic traffic,
+        int iterations,
+        int concurrency,
+        Duration timeout,
+        MeterRegistry registry
+    ) {
+        this.traffic = traffic;
+        this.iterations = iterations;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+
+        Gauge.builder("app_warmup_duration_seconds", durationNanos, nanos -> nanos.get() / 1e9)
+            .description("Time spent warming up before accepting traffic.")
+            .register(registry);
+
+        Gauge.builder("app_warmup_iterations", completedIterations, AtomicLong::get)
+            .description("Warm-up rounds completed over all routes.")
+            .register(registry);
+
+        this.okRequests = Counter.builder("app_warmup_requests_total")
+            .description("Synthetic warm-up requests sent.")
+            .tag("outcome", "ok")
+            .register(registry);
+
+        this.failedRequests = Counter.builder("app_warmup_requests_total")
+            .description("Synthetic warm-up requests sent.")
+            .tag("outcome", "error")
+            .register(registry);
+    }
+
+    // Each target is a full URL; infra routes may point at a different port than the others.
+    public void run(List<URI> targets) {
+        if (iterations == 0 || targets.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        traffic.setActive(true);
+
+        // Declared first so it is closed last, after the executor has waited for the clients.
+        try (HttpClient http = HttpClient.newBuilder()
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .connectTimeout(Duration.ofSeconds(2))
+                 .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            // Closing the executor waits for the clients; each stops at the deadline, and a single
+            // request is bounded by its own timeout.
+            AtomicLong remaining = new AtomicLong(iterations);
+            for (int i = 0; i < concurrency; i++) {
+                clients.execute(() -> {
+                    while (remaining.getAndDecrement() > 0 && System.nanoTime() < deadline) {
+                        for (URI target : targets) {
+                            send(http, target);
+                        }
+                        completedIterations.incrementAndGet();
+                    }
+                });
+            }
+        } finally {
+            traffic.setActive(false);
+            durationNanos.set(System.nanoTime() - start);
+        }
+
+        log.info(
+            "warmup_complete iterations={} routes={} ok={} errors={} duration_ms={}",
+            completedIterations.get(),
+            targets.size(),
+            (long) okRequests.count(),
+            (long) failedRequests.count(),
+            TimeUnit.NANOSECONDS.toMillis(durationNanos.get())
+        );
+    }
+
+    private void send(HttpClient http, URI target) {
+        HttpRequest request = HttpRequest.newBuilder(target)
+            .header(WarmupTraffic.TOKEN_HEADER, traffic.token())
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+        try {
+            http.send(request, HttpResponse.BodyHandlers.discarding());
+            okRequests.increment();
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failedRequests.increment();
+        }
+    }
+}
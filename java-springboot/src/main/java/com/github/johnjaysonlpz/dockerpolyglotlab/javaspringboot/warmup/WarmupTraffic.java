@@ -0,0 +1,39 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup;
+
+import java.util.UUID;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.HttpServerMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Identifies the synthetic requests sent by WarmupRunner. They carry a token generated per
+// process, so outside clients cannot opt out of metrics or rate limits by copying the header,
+// and the header is only looked at while a warm-up is running.
+public class WarmupTraffic {
+
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    private final String token = UUID.randomUUID().toString();
+    private final HttpServerMetrics metrics;
+    private volatile boolean active;
+
+    // Same recording code as the business metrics, backed by a registry nobody scrapes.
+    public WarmupTraffic(HttpServerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public boolean matches(HttpServletRequest request) {
+        return active && token.equals(request.getHeader(TOKEN_HEADER));
+    }
+
+    public HttpServerMetrics metrics() {
+        return metrics;
+    }
+
+    String token() {
+        return token;
+    }
+
+    void setActive(boolean active) {
+        this.active = active;
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.GradientConcurrencyLimiter;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupTraffic;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Sheds requests above the adaptive concurrency limit with 503 + Retry-After before any handler
+// work is done. Runs inside HttpLoggingFilter so shed requests are still counted, and so the
+// permit is released with the latency HttpLoggingFilter measures. Infra paths are never shed:
+// probes and scrapes must keep answering while the pod is overloaded. Neither are warm-up
+// requests: their cold-JIT latencies would drag the limit down just before readiness flips.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final String PERMIT_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".PERMIT";
+
+    private final boolean enabled;
+    private final GradientConcurrencyLimiter limiter;
+    private final String retryAfter;
+    private final WarmupTraffic warmupTraffic;
+
+    public ConcurrencyLimitFilter(GradientConcurrencyLimiter limiter, ServiceProperties props, WarmupTraffic warmupTraffic) {
+        this.enabled = props.getLimiter().isEnabled();
+        this.limiter = limiter;
+        this.warmupTraffic = warmupTraffic;
+        this.retryAfter = Long.toString(Math.max(1, props.getLimiter().getRetryAfter().toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!enabled || HttpLoggingFilter.isInfraPath(request.getRequestURI()) || warmupTraffic.matches(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            response.setContentLength(0);
+            return;
+        }
+
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        filterChain.doFilter(request, response);
+    }
+}
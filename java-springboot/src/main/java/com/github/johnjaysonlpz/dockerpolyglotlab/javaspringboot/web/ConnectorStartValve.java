@@ -0,0 +1,26 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+
+import jakarta.servlet.ServletException;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+// Hands the connector's request start time to the servlet side, where Tomcat's own Request is out
+// of reach. The connector marks it (System.nanoTime) when it reads the first bytes of the request
+// line, so the gap to HttpLoggingFilter is parsing plus everything ahead of that filter.
+public class ConnectorStartValve extends ValveBase {
+
+    public ConnectorStartValve() {
+        super(true);
+    }
+
+    @Override
+    public void invoke(Request request, Response response) throws IOException, ServletException {
+        // Tomcat leaves -1 when it did not mark the start, which RequestPhases reads the same way.
+        RequestPhases phases = new RequestPhases(request.getCoyoteRequest().getStartTimeNanos());
+        request.setAttribute(RequestPhases.ATTRIBUTE, phases);
+        getNext().invoke(request, response);
+    }
+}
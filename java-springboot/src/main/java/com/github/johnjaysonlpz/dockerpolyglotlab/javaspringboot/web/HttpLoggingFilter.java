@@ -1,44 +1,69 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
 
 import java.io.IOException;
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Set;
 
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogPipeline;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSampler;
 import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.HttpServerMetrics;
-import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.RequestPhaseMetrics;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.GradientConcurrencyLimiter;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats.RollingLatencyStats;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupTraffic;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerMapping;
 
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
 public class HttpLoggingFilter extends OncePerRequestFilter {
 
-    private static final Logger log = LoggerFactory.getLogger("http");
-
     private static final Set<String> SKIP_PATHS = Set.of(
         "/health",
         "/ready",
-        "/metrics"
+        "/metrics",
+        "/stats"
     );
 
     private static final String ACTUATOR_PREFIX = "/actuator";
+    private static final String DEBUG_PREFIX = "/debug/";
 
-    private final ServiceProperties props;
     private final HttpServerMetrics metrics;
-
-    public HttpLoggingFilter(ServiceProperties props, HttpServerMetrics metrics) {
-        this.props = props;
+    private final RollingLatencyStats stats;
+    private final AccessLogPipeline accessLog;
+    private final AccessLogSampler sampler;
+    private final GradientConcurrencyLimiter limiter;
+    private final WarmupTraffic warmupTraffic;
+    private final RequestAccounting accounting;
+    private final RequestPhaseMetrics phaseMetrics;
+
+    public HttpLoggingFilter(
+        HttpServerMetrics metrics,
+        RollingLatencyStats stats,
+        AccessLogPipeline accessLog,
+        AccessLogSampler sampler,
+        GradientConcurrencyLimiter limiter,
+        WarmupTraffic warmupTraffic,
+        RequestAccounting accounting,
+        RequestPhaseMetrics phaseMetrics
+    ) {
         this.metrics = metrics;
+        this.stats = stats;
+        this.accessLog = accessLog;
+        this.sampler = sampler;
+        this.limiter = limiter;
+        this.warmupTraffic = warmupTraffic;
+        this.accounting = accounting;
+        this.phaseMetrics = phaseMetrics;
     }
 
-    private boolean isInfraPath(String path) {
+    public static boolean isInfraPath(String path) {
         if (path == null) {
             return false;
         }
@@ -51,6 +76,10 @@ public class HttpLoggingFilter extends OncePerRequestFilter {
             return true;
         }
 
+        if (path.startsWith(DEBUG_PREFIX)) {
+            return true;
+        }
+
         return false;
     }
 
@@ -63,35 +92,96 @@ public class HttpLoggingFilter extends OncePerRequestFilter {
 
         String rawPath = request.getRequestURI();
         boolean skip = isInfraPath(rawPath);
+        boolean warmup = warmupTraffic.matches(request);
+        RequestAccounting.Usage usage = (skip || warmup) ? null : accounting.sample();
+        RequestPhases phases = (skip || warmup || !phaseMetrics.isEnabled()) ? null : RequestPhases.of(request);
 
-        Instant start = Instant.now();
+        long start = System.nanoTime();
         try {
-            filterChain.doFilter(request, response);
+            if (usage != null) {
+                accounting.measure(usage, request, response, filterChain);
+            } else {
+                filterChain.doFilter(request, response);
+            }
+            // A committed response is already streaming, so flushing the tail now changes nothing on
+            // the wire and puts the last write in the write phase. An uncommitted one is left for
+            // Tomcat to send with a Content-Length.
+            if (phases != null && phases.writing() && response.isCommitted()) {
+                response.flushBuffer();
+            }
         } finally {
-            Instant end = Instant.now();
-            Duration duration = Duration.between(start, end);
+            long end = System.nanoTime();
+
+            // The permit was taken by ConcurrencyLimitFilter further down the chain; releasing it
+            // here feeds the limiter the same latency sample the metrics record.
+            if (request.getAttribute(ConcurrencyLimitFilter.PERMIT_ATTRIBUTE) != null) {
+                limiter.release(end - start);
+            }
 
-            String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
-            String pathLabel = (pattern != null) ? pattern : rawPath;
+            // A helper rather than inline: returning from a finally block would swallow whatever the
+            // chain threw, and the servlet container would never produce the error response.
+            record(request, response, rawPath, skip, warmup, usage, phases, start, end);
+        }
+    }
 
-            metrics.record(request.getMethod(), pathLabel, response.getStatus(), duration);
+    private void record(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        String rawPath,
+        boolean skip,
+        boolean warmup,
+        RequestAccounting.Usage usage,
+        RequestPhases phases,
+        long start,
+        long end
+    ) {
+        long durationNanos = end - start;
+
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String pathLabel = (pattern != null) ? pattern : rawPath;
+
+        // Warm-up requests run the same recording code against a registry that is never scraped.
+        HttpServerMetrics target = warmup ? warmupTraffic.metrics() : metrics;
+        target.record(request.getMethod(), pathLabel, response.getStatus(), durationNanos);
+
+        // Infra paths only feed http_requests_total: probes and scrapes would skew the per-route
+        // rates in /stats, and usage and phases are never sampled for them.
+        if (warmup || skip) {
+            return;
+        }
 
-            if (skip) {
-                return;
-            }
+        String route = (pattern != null) ? pattern : HttpServerMetrics.OVERFLOW_PATH;
+        stats.record(route, response.getStatus(), durationNanos);
+        if (usage != null) {
+            metrics.recordUsage(route, usage.cpuNanos, usage.allocatedBytes);
+        }
+        long queueNanos = -1;
+        long handlerNanos = -1;
+        long writeNanos = -1;
+        if (phases != null) {
+            queueNanos = phases.queueNanos(start);
+            handlerNanos = phases.handlerNanos(start, end);
+            writeNanos = phases.writeNanos(end);
+            phaseMetrics.record(route, queueNanos, handlerNanos, writeNanos);
+        }
 
-            log.info(
-                "http_request service={} version={} method={} path={} rawPath={} status={} ip={} latencyMs={} userAgent=\"{}\"",
-                props.getServiceName(),
-                props.getVersion(),
-                request.getMethod(),
-                pathLabel,
-                rawPath,
-                response.getStatus(),
-                request.getRemoteAddr(),
-                duration.toMillis(),
-                request.getHeader("User-Agent")
-            );
+        if (!sampler.shouldLog(route, response.getStatus(), durationNanos)) {
+            return;
         }
+
+        accessLog.publish(
+            request.getMethod(),
+            pathLabel,
+            rawPath,
+            response.getStatus(),
+            request.getRemoteAddr(),
+            durationNanos,
+            request.getHeader("User-Agent"),
+            (usage != null && accounting.accessLogFields()) ? usage.cpuNanos : -1,
+            (usage != null && accounting.accessLogFields()) ? usage.allocatedBytes : -1,
+            phaseMetrics.accessLogFields() ? queueNanos : -1,
+            phaseMetrics.accessLogFields() ? handlerNanos : -1,
+            phaseMetrics.accessLogFields() ? writeNanos : -1
+        );
     }
 }
@@ -0,0 +1,41 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown.ShutdownDrain;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Counts the requests in flight for ShutdownDrain. Runs ahead of the other filters here, so
+// requests they answer themselves (misrouted, rate limited, shed) are counted too.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 5)
+public class InFlightRequestFilter extends OncePerRequestFilter {
+
+    private final ShutdownDrain drain;
+
+    public InFlightRequestFilter(ShutdownDrain drain) {
+        this.drain = drain;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        drain.requestStarted();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            drain.requestFinished();
+        }
+    }
+}
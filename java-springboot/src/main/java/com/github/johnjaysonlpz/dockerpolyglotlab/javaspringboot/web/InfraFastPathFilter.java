@@ -0,0 +1,158 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ReadinessStateHolder;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Answers GET/HEAD for the InfraController endpoints without entering the DispatcherServlet.
+// "/" and "/info" never change after startup, so their bodies, Content-Length and ETag are
+// rendered once; /health and /ready only need a status. Runs after HttpLoggingFilter, so these
+// requests are still timed, counted and access-logged exactly as before.
+//
+// Switched by app.infra-fast-path when the filter is constructed rather than by a bean condition:
+// conditions are frozen at build time under Spring AOT, while this must follow the runtime env.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class InfraFastPathFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final ApplicationAvailability availability;
+    private final ReadinessStateHolder readinessStateHolder;
+    private final StaticResponse root;
+    private final StaticResponse info;
+
+    public InfraFastPathFilter(
+        ServiceProperties props,
+        ApplicationAvailability availability,
+        ReadinessStateHolder readinessStateHolder,
+        ObjectMapper objectMapper
+    ) throws JsonProcessingException {
+        this.enabled = props.isInfraFastPath();
+        this.availability = availability;
+        this.readinessStateHolder = readinessStateHolder;
+
+        this.root = StaticResponse.of(
+            "java-springboot-app is running (Java + Spring Boot)\n".getBytes(StandardCharsets.UTF_8),
+            "text/plain;charset=UTF-8"
+        );
+
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("service", props.getServiceName());
+        metadata.put("version", props.getVersion());
+        metadata.put("buildTime", props.getBuildTime());
+        this.info = StaticResponse.of(objectMapper.writeValueAsBytes(metadata), MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String method = request.getMethod();
+        boolean head = "HEAD".equals(method);
+        if (!enabled || (!head && !"GET".equals(method))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        switch (path) {
+            case "/" -> writeStatic(root, path, head, request, response);
+            case "/info" -> writeStatic(info, path, head, request, response);
+            case "/health" -> writeStatus(
+                path,
+                availability.getLivenessState() == LivenessState.CORRECT ? 200 : 500,
+                request,
+                response
+            );
+            case "/ready" -> writeStatus(
+                path,
+                readinessStateHolder.getState() == ReadinessState.ACCEPTING_TRAFFIC ? 200 : 503,
+                request,
+                response
+            );
+            default -> filterChain.doFilter(request, response);
+        }
+    }
+
+    private static void writeStatic(
+        StaticResponse body,
+        String path,
+        boolean head,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        // Lets HttpLoggingFilter label the request with its route, as handler mapping would have.
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+        response.setHeader(HttpHeaders.ETAG, body.etag());
+
+        if (etagMatches(request.getHeader(HttpHeaders.IF_NONE_MATCH), body.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(body.contentType());
+        response.setContentLength(body.bytes().length);
+        if (!head) {
+            RequestPhases.markWriteStart(request);
+            response.getOutputStream().write(body.bytes());
+        }
+    }
+
+    private static void writeStatus(String path, int status, HttpServletRequest request, HttpServletResponse response) {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+        response.setStatus(status);
+        response.setContentLength(0);
+    }
+
+    static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record StaticResponse(byte[] bytes, String contentType, String etag) {
+
+        // Same format as Spring's ShallowEtagHeaderFilter.
+        static StaticResponse of(byte[] bytes, String contentType) {
+            return new StaticResponse(bytes, contentType, "\"0" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// With the management connector enabled, infra paths answer only on the management port and
+// application paths only on the main port; anything else is a 404. Runs ahead of
+// HttpLoggingFilter, so misrouted requests are not recorded as traffic.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 4)
+public class ManagementPortFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final int managementPort;
+
+    public ManagementPortFilter(ServiceProperties props) {
+        this.enabled = props.getManagementConnector().isEnabled();
+        this.managementPort = props.getManagementConnector().getPort();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean infra = HttpLoggingFilter.isInfraPath(request.getRequestURI());
+        boolean onManagementPort = request.getLocalPort() == managementPort;
+
+        if (infra != onManagementPort) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.setContentLength(0);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
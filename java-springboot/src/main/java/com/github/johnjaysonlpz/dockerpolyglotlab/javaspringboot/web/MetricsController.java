@@ -1,22 +1,68 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
 
-import org.springframework.http.ResponseEntity;
+import java.io.IOException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
-
 @RestController
 class MetricsController {
 
-    private final PrometheusMeterRegistry prometheusMeterRegistry;
+    private final MetricsScraper scraper;
+
+    MetricsController(MetricsScraper scraper) {
+        this.scraper = scraper;
+    }
+
+    @GetMapping("/metrics")
+    void metrics(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MetricsScraper.Format format = MetricsScraper.Format.negotiate(request.getHeader(HttpHeaders.ACCEPT));
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        response.setContentType(format.contentType);
+        response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        scraper.write(format, gzip, response);
+    }
 
-    MetricsController(PrometheusMeterRegistry prometheusMeterRegistry) {
-        this.prometheusMeterRegistry = prometheusMeterRegistry;
+    // Accept-Encoding lists codings with optional q-values; q=0 means "not acceptable". An explicit
+    // gzip entry decides on its own, otherwise "*" covers it.
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            int semicolon = element.indexOf(';');
+            String coding = (semicolon < 0 ? element : element.substring(0, semicolon)).trim();
+            boolean acceptable = semicolon < 0 || qValue(element.substring(semicolon + 1)) > 0;
+            if (coding.equalsIgnoreCase("gzip")) {
+                return acceptable;
+            }
+            if (coding.equals("*")) {
+                wildcard = acceptable;
+            }
+        }
+        return wildcard;
     }
 
-    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
-    ResponseEntity<String> metrics() {
-        return ResponseEntity.ok(prometheusMeterRegistry.scrape());
+    private static double qValue(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter.substring(equals + 1).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 }
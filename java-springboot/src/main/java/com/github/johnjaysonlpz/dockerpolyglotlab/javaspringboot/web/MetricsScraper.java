@@ -0,0 +1,288 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+@Component
+class MetricsScraper implements DisposableBean {
+
+    enum Format {
+        TEXT("text", "text/plain; version=0.0.4; charset=utf-8"),
+        OPENMETRICS("openmetrics", "application/openmetrics-text; version=1.0.0; charset=utf-8"),
+        PROTOBUF("protobuf", "application/vnd.google.protobuf; proto=io.prometheus.client.MetricFamily; encoding=delimited");
+
+        final String tag;
+        final String contentType;
+
+        Format(String tag, String contentType) {
+            this.tag = tag;
+            this.contentType = contentType;
+        }
+
+        // Same precedence as the Prometheus client's own negotiation: protobuf, then OpenMetrics, then text.
+        static Format negotiate(String accept) {
+            if (accept == null) {
+                return TEXT;
+            }
+            if (accept.contains("application/vnd.google.protobuf")
+                && accept.contains("io.prometheus.client.MetricFamily")) {
+                return PROTOBUF;
+            }
+            if (accept.contains("application/openmetrics-text")) {
+                return OPENMETRICS;
+            }
+            return TEXT;
+        }
+    }
+
+    private final PrometheusMeterRegistry prometheusMeterRegistry;
+    private final long ttlNanos;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    // Snapshots are rendered on a platform thread so that allocation can be measured
+    // (per-thread allocation counters are not available on virtual threads).
+    private final ExecutorService renderExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "metrics-scrape");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Format, Slot> slots = new EnumMap<>(Format.class);
+    private final Map<Format, FormatMeters> meters = new EnumMap<>(Format.class);
+
+    MetricsScraper(
+        PrometheusMeterRegistry prometheusMeterRegistry,
+        MeterRegistry registry,
+        ServiceProperties props
+    ) {
+        this.prometheusMeterRegistry = prometheusMeterRegistry;
+        this.ttlNanos = props.getMetrics().getScrapeCacheTtl().toNanos();
+        this.threadMXBean = allocationTrackingBean();
+
+        for (Format format : Format.values()) {
+            slots.put(format, new Slot());
+            meters.put(format, new FormatMeters(registry, format));
+        }
+    }
+
+    void write(Format format, boolean gzip, HttpServletResponse response) throws IOException {
+        OutputStream out = response.getOutputStream();
+        long start = System.nanoTime();
+        FormatMeters formatMeters = meters.get(format);
+
+        if (ttlNanos <= 0) {
+            long size = stream(format, gzip, out);
+            formatMeters.size(gzip).record(size);
+            formatMeters.uncached.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        Slot slot = slots.get(format);
+        Snapshot snapshot = slot.snapshot;
+        boolean hit = snapshot != null && start - snapshot.createdNanos < ttlNanos;
+        if (!hit) {
+            snapshot = refresh(format, slot);
+        }
+
+        byte[] body = gzip ? snapshot.gzipped() : snapshot.body;
+        response.setContentLength(body.length);
+        out.write(body);
+
+        formatMeters.size(gzip).record(body.length);
+        (hit ? formatMeters.hit : formatMeters.miss).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Snapshot refresh(Format format, Slot slot) throws IOException {
+        slot.lock.lock();
+        try {
+            Snapshot current = slot.snapshot;
+            if (current != null && System.nanoTime() - current.createdNanos < ttlNanos) {
+                return current;
+            }
+            int sizeHint = (current != null) ? current.body.length : 64 * 1024;
+            Snapshot rendered = renderExecutor.submit(() -> render(format, sizeHint)).get();
+            slot.snapshot = rendered;
+            return rendered;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering metrics", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException("Failed to render metrics", ex.getCause());
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private Snapshot render(Format format, int sizeHint) {
+        long allocatedBefore = allocatedBytes();
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(sizeHint);
+            prometheusMeterRegistry.scrape(body, format.contentType);
+            return new Snapshot(body.toByteArray(), System.nanoTime());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            long allocatedAfter = allocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                meters.get(format).allocated.record(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+
+    private long stream(Format format, boolean gzip, OutputStream out) throws IOException {
+        CountingOutputStream counting = new CountingOutputStream(out);
+        if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(counting, 8192);
+            prometheusMeterRegistry.scrape(compressed, format.contentType);
+            compressed.finish();
+        } else {
+            prometheusMeterRegistry.scrape(counting, format.contentType);
+        }
+        counting.flush();
+        return counting.count;
+    }
+
+    private long allocatedBytes() {
+        return (threadMXBean != null) ? threadMXBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationTrackingBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported()
+            && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        renderExecutor.shutdownNow();
+    }
+
+    private static final class Slot {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Snapshot snapshot;
+    }
+
+    // The gzip body is compressed on the first scrape that asks for it and then shared for the
+    // rest of the TTL window, so refreshes nobody reads compressed never pay for the deflate.
+    private static final class Snapshot {
+        final byte[] body;
+        final long createdNanos;
+        private volatile byte[] gzipped;
+
+        Snapshot(byte[] body, long createdNanos) {
+            this.body = body;
+            this.createdNanos = createdNanos;
+        }
+
+        byte[] gzipped() throws IOException {
+            byte[] compressed = gzipped;
+            if (compressed == null) {
+                synchronized (this) {
+                    compressed = gzipped;
+                    if (compressed == null) {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(1024, body.length / 4));
+                        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+                            gzip.write(body);
+                        }
+                        compressed = out.toByteArray();
+                        gzipped = compressed;
+                    }
+                }
+            }
+            return compressed;
+        }
+    }
+
+    private static final class FormatMeters {
+        final Timer hit;
+        final Timer miss;
+        final Timer uncached;
+        final DistributionSummary identitySize;
+        final DistributionSummary gzipSize;
+        final DistributionSummary allocated;
+
+        FormatMeters(MeterRegistry registry, Format format) {
+            this.hit = scrapeTimer(registry, format, "hit");
+            this.miss = scrapeTimer(registry, format, "miss");
+            this.uncached = scrapeTimer(registry, format, "disabled");
+            this.identitySize = sizeSummary(registry, format, "identity");
+            this.gzipSize = sizeSummary(registry, format, "gzip");
+            this.allocated = DistributionSummary.builder("metrics_scrape_allocated_bytes")
+                .description("Bytes allocated while rendering a metrics snapshot.")
+                .tag("format", format.tag)
+                .register(registry);
+        }
+
+        DistributionSummary size(boolean gzip) {
+            return gzip ? gzipSize : identitySize;
+        }
+
+        private static Timer scrapeTimer(MeterRegistry registry, Format format, String cache) {
+            return Timer.builder("metrics_scrape_duration_seconds")
+                .description("Time taken to serve a metrics scrape.")
+                .tag("format", format.tag)
+                .tag("cache", cache)
+                .register(registry);
+        }
+
+        private static DistributionSummary sizeSummary(MeterRegistry registry, Format format, String encoding) {
+            return DistributionSummary.builder("metrics_scrape_size_bytes")
+                .description("Size of the metrics scrape response body.")
+                .tag("format", format.tag)
+                .tag("encoding", encoding)
+                .register(registry);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        long count;
+
+        CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
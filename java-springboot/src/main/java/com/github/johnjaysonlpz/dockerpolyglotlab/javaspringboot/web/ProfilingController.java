@@ -0,0 +1,129 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling.JfrProfiler;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling.JfrSummary;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+// POST rather than GET: a recording has a cost, and the warm-up only replays GET routes. Both
+// endpoints block for the whole recording. /debug is an infra path, so with the management
+// connector enabled they are only served on the management port.
+@RestController
+class ProfilingController {
+
+    private static final int MAX_TOP = 100;
+
+    private final JfrProfiler profiler;
+
+    ProfilingController(JfrProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @PostMapping("/debug/profile")
+    void profile(
+        @RequestParam(required = false) Long seconds,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Path file = record(seconds, request, response);
+        if (file == null) {
+            return;
+        }
+        try {
+            response.setContentType("application/octet-stream");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"profile-" + Instant.now().getEpochSecond() + ".jfr\""
+            );
+            response.setContentLengthLong(Files.size(file));
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @PostMapping("/debug/profile/summary")
+    void summary(
+        @RequestParam(required = false) Long seconds,
+        @RequestParam(defaultValue = "20") int top,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Path file = record(seconds, request, response);
+        if (file == null) {
+            return;
+        }
+        try {
+            String summary = JfrSummary.summarize(file, Math.max(1, Math.min(top, MAX_TOP)));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.getWriter().write(summary);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Returns the recording, or null once the response has been answered with an error.
+    private Path record(Long seconds, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!profiler.isEnabled()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+        if (!authorized(request.getHeader(HttpHeaders.AUTHORIZATION))) {
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            reject(response, HttpServletResponse.SC_UNAUTHORIZED, "missing or wrong bearer token");
+            return null;
+        }
+        if (!profiler.isAvailable()) {
+            reject(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "JFR is not available in this runtime");
+            return null;
+        }
+
+        Duration duration = (seconds != null) ? Duration.ofSeconds(seconds) : profiler.defaultDuration();
+        if (duration.toSeconds() < 1 || duration.compareTo(profiler.maxDuration()) > 0) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST,
+                "seconds must be between 1 and " + profiler.maxDuration().toSeconds());
+            return null;
+        }
+
+        Path file = profiler.record(duration);
+        if (file == null) {
+            reject(response, HttpServletResponse.SC_CONFLICT, "a recording is already running");
+        }
+        return file;
+    }
+
+    // JfrProfiler only allows an empty token when /debug is confined to the management port.
+    private boolean authorized(String authorization) {
+        String token = profiler.token();
+        if (token.isEmpty()) {
+            return true;
+        }
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+            authorization.substring("Bearer ".length()).trim().getBytes(StandardCharsets.UTF_8),
+            token.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message + "\n");
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.ClientRateLimiter;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup.WarmupTraffic;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Answers 429 + Retry-After for clients over their rate. Runs inside HttpLoggingFilter, so
+// throttled requests show up in http_requests_total with status 429, and ahead of
+// ConcurrencyLimitFilter, so a throttled client never holds a concurrency permit.
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final ClientRateLimiter limiter;
+    private final String clientHeader;
+    private final int trustedHops;
+    private final WarmupTraffic warmupTraffic;
+
+    public RateLimitFilter(ClientRateLimiter limiter, ServiceProperties props, WarmupTraffic warmupTraffic) {
+        this.enabled = props.getRateLimit().isEnabled();
+        this.limiter = limiter;
+        this.warmupTraffic = warmupTraffic;
+        String header = props.getRateLimit().getClientHeader();
+        this.clientHeader = StringUtils.hasText(header) ? header : null;
+        this.trustedHops = props.getRateLimit().getTrustedHops();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!enabled || HttpLoggingFilter.isInfraPath(request.getRequestURI()) || warmupTraffic.matches(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = limiter.tryAcquire(clientKey(request));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentLength(0);
+    }
+
+    // With a header such as X-Forwarded-For, each proxy appends the address it received the request
+    // from, so only the entries on the right are trustworthy: the client can write anything to the
+    // left. The key is the entry trusted-hops from the right, the one our outermost trusted proxy
+    // added. Requests without the header, or with fewer entries than trusted hops (they did not come
+    // through every proxy), fall back to the peer address.
+    private String clientKey(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String value = request.getHeader(clientHeader);
+            if (value != null) {
+                int end = value.length();
+                for (int hop = 1; hop < trustedHops && end >= 0; hop++) {
+                    end = value.lastIndexOf(',', end - 1);
+                }
+                if (end >= 0) {
+                    String entry = value.substring(value.lastIndexOf(',', end - 1) + 1, end).trim();
+                    if (!entry.isEmpty()) {
+                        return entry;
+                    }
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,178 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+// CPU time and allocated bytes of a sampled fraction of requests, read from the per-thread counters
+// of com.sun.management.ThreadMXBean around the rest of the filter chain.
+//
+// Those counters read -1 on virtual threads, so a sampled request that arrives on one is handed to
+// a small pool of platform threads and the virtual thread parks until it completes. The request
+// runs the same chain, only on another thread: thread-locals set by filters ahead of
+// HttpLoggingFilter are not visible to it. When every pool thread is busy the request runs inline
+// unmeasured, so the pool bounds the overhead. Requests already on platform threads (the management
+// connector, or with virtual threads disabled) are measured in place.
+@Component
+class RequestAccounting implements DisposableBean {
+
+    static final class Usage {
+        long cpuNanos = -1;
+        long allocatedBytes = -1;
+    }
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final boolean accessLogFields;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final ThreadPoolExecutor platformThreads;
+    private final AtomicLong seen = new AtomicLong();
+    private final Counter skipped;
+
+    RequestAccounting(ServiceProperties props, MeterRegistry registry) {
+        ServiceProperties.RequestAccounting config = props.getRequestAccounting();
+        this.threadMXBean = (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+            ? bean
+            : null;
+        this.enabled = config.isEnabled() && threadMXBean != null;
+        this.sampleRate = config.getSampleRate();
+        this.accessLogFields = config.isAccessLog();
+
+        AtomicInteger threadIds = new AtomicInteger();
+        this.platformThreads = new ThreadPoolExecutor(
+            config.getPlatformThreads(),
+            config.getPlatformThreads(),
+            1,
+            TimeUnit.MINUTES,
+            new SynchronousQueue<>(),
+            r -> {
+                Thread thread = new Thread(r, "request-accounting-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        this.platformThreads.allowCoreThreadTimeOut(true);
+
+        this.skipped = Counter.builder("http_request_accounting_skipped_total")
+            .description("Sampled requests run unmeasured because every accounting thread was busy.")
+            .register(registry);
+    }
+
+    // Keeps the n-th request whenever n * rate crosses an integer, as AccessLogSampler does.
+    Usage sample() {
+        if (!enabled) {
+            return null;
+        }
+        long n = seen.getAndIncrement();
+        return ((long) ((n + 1) * sampleRate) != (long) (n * sampleRate)) ? new Usage() : null;
+    }
+
+    boolean accessLogFields() {
+        return accessLogFields;
+    }
+
+    // Fills in usage even when the chain throws.
+    void measure(
+        Usage usage,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain chain
+    ) throws IOException, ServletException {
+        if (!Thread.currentThread().isVirtual()) {
+            run(usage, request, response, chain);
+            return;
+        }
+
+        Future<?> task;
+        try {
+            task = platformThreads.submit(() -> {
+                run(usage, request, response, chain);
+                return null;
+            });
+        } catch (RejectedExecutionException ex) {
+            skipped.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+        await(task);
+    }
+
+    private void run(
+        Usage usage,
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain chain
+    ) throws IOException, ServletException {
+        long cpuBefore = threadMXBean.getCurrentThreadCpuTime();
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long cpuAfter = threadMXBean.getCurrentThreadCpuTime();
+            long allocatedAfter = threadMXBean.getCurrentThreadAllocatedBytes();
+            if (cpuBefore >= 0 && cpuAfter >= 0) {
+                usage.cpuNanos = cpuAfter - cpuBefore;
+            }
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                usage.allocatedBytes = allocatedAfter - allocatedBefore;
+            }
+        }
+    }
+
+    // The request and response stay in use until the task finishes, so an interrupt cannot end the
+    // wait early; it is restored afterwards.
+    private static void await(Future<?> task) throws IOException, ServletException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    task.get();
+                    return;
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof IOException io) {
+                        throw io;
+                    }
+                    if (cause instanceof ServletException servlet) {
+                        throw servlet;
+                    }
+                    if (cause instanceof RuntimeException runtime) {
+                        throw runtime;
+                    }
+                    if (cause instanceof Error error) {
+                        throw error;
+                    }
+                    throw new ServletException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        platformThreads.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import jakarta.servlet.ServletRequest;
+
+// The System.nanoTime marks of one request, carried as a request attribute from
+// ConnectorStartValve to HttpLoggingFilter. Whatever writes the body (ResponseWriteMarker for
+// message converters, InfraFastPathFilter for its static bodies) marks where writing starts.
+// A request is served by one thread at a time, so the fields need no synchronization. Durations of
+// phases that were not observed are -1.
+public final class RequestPhases {
+
+    static final String ATTRIBUTE = RequestPhases.class.getName();
+
+    // Tomcat's own "not marked" value.
+    private static final long UNMARKED = -1;
+
+    private final long connectorStartNanos;
+    private boolean writing;
+    private long writeStartNanos;
+
+    RequestPhases(long connectorStartNanos) {
+        this.connectorStartNanos = connectorStartNanos;
+    }
+
+    static RequestPhases of(ServletRequest request) {
+        return (request.getAttribute(ATTRIBUTE) instanceof RequestPhases phases) ? phases : null;
+    }
+
+    static void markWriteStart(ServletRequest request) {
+        RequestPhases phases = of(request);
+        if (phases != null) {
+            phases.markWriteStart();
+        }
+    }
+
+    // The first body write wins: error handling may serialize a second body after a failed one.
+    void markWriteStart() {
+        if (!writing) {
+            writeStartNanos = System.nanoTime();
+            writing = true;
+        }
+    }
+
+    // Whether the body went through a message converter.
+    boolean writing() {
+        return writing;
+    }
+
+    long queueNanos(long filterStartNanos) {
+        return (connectorStartNanos == UNMARKED) ? -1 : Math.max(0, filterStartNanos - connectorStartNanos);
+    }
+
+    long handlerNanos(long filterStartNanos, long endNanos) {
+        return (writing ? writeStartNanos : endNanos) - filterStartNanos;
+    }
+
+    long writeNanos(long endNanos) {
+        return writing ? endNanos - writeStartNanos : -1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats.RollingLatencyStats;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+class StatsController {
+
+    private final RollingLatencyStats stats;
+
+    StatsController(RollingLatencyStats stats) {
+        this.stats = stats;
+    }
+
+    @GetMapping("/stats")
+    ResponseEntity<RollingLatencyStats.Snapshot> stats() {
+        if (!stats.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .body(stats.snapshot());
+    }
+}
@@ -0,0 +1,149 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogJsonEncoderTest {
+
+    private static final DateTimeFormatter ISO_MILLIS = DateTimeFormatter
+        .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+        .withZone(ZoneOffset.UTC);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AccessLogJsonEncoder encoder = new AccessLogJsonEncoder("svc", "1.2.3");
+
+    @Test
+    void writesAllFieldsAsOneJsonLine() throws Exception {
+        AccessLogEntry entry = new AccessLogEntry();
+        entry.set(1_765_826_230_943L, "tomcat-handler-5", "GET", "/info", "/info", 200,
+            "172.17.0.1", 24_600_000L, "curl/8.5.0");
+
+        byte[] bytes = encoder.encode(entry);
+        String line = new String(bytes, StandardCharsets.UTF_8);
+        assertThat(line).endsWith("}\n").doesNotContain("\n{");
+
+        JsonNode json = mapper.readTree(bytes);
+        assertThat(json.get("@timestamp").asText()).isEqualTo("2025-12-15T19:17:10.943Z");
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("thread_name").asText()).isEqualTo("tomcat-handler-5");
+        assertThat(json.get("logger_name").asText()).isEqualTo("http");
+        assertThat(json.get("message").asText()).isEqualTo("http_request");
+        assertThat(json.get("service").asText()).isEqualTo("svc");
+        assertThat(json.get("version").asText()).isEqualTo("1.2.3");
+        assertThat(json.get("method").asText()).isEqualTo("GET");
+        assertThat(json.get("path").asText()).isEqualTo("/info");
+        assertThat(json.get("rawPath").asText()).isEqualTo("/info");
+        assertThat(json.get("status").asInt()).isEqualTo(200);
+        assertThat(json.get("ip").asText()).isEqualTo("172.17.0.1");
+        assertThat(json.get("latencyMs").asLong()).isEqualTo(24);
+        assertThat(json.get("userAgent").asText()).isEqualTo("curl/8.5.0");
+    }
+
+    @Test
+    void writesUsageFieldsOnlyForMeasuredRequests() throws Exception {
+        AccessLogEntry entry = new AccessLogEntry();
+        entry.set(0L, "t", "GET", "/info", "/info", 200, "ip", 0L, "ua");
+        assertThat(mapper.readTree(encoder.encode(entry)).has("cpuMicros")).isFalse();
+
+        entry.setUsage(1_250_000L, 48_128L);
+        JsonNode json = mapper.readTree(encoder.encode(entry));
+        assertThat(json.get("cpuMicros").asLong()).isEqualTo(1250);
+        assertThat(json.get("allocatedBytes").asLong()).isEqualTo(48_128);
+
+        entry.set(0L, "t", "GET", "/info", "/info", 200, "ip", 0L, "ua");
+        assertThat(mapper.readTree(encoder.encode(entry)).has("allocatedBytes")).isFalse();
+    }
+
+    @Test
+    void writesOnlyTheMeasuredPhases() throws Exception {
+        AccessLogEntry entry = new AccessLogEntry();
+        entry.set(0L, "t", "GET", "/info", "/info", 200, "ip", 0L, "ua");
+        entry.setPhases(350_000L, 1_200_000L, -1);
+
+        JsonNode json = mapper.readTree(encoder.encode(entry));
+        assertThat(json.get("queueMicros").asLong()).isEqualTo(350);
+        assertThat(json.get("handlerMicros").asLong()).isEqualTo(1200);
+        assertThat(json.has("writeMicros")).isFalse();
+
+        entry.set(0L, "t", "GET", "/info", "/info", 200, "ip", 0L, "ua");
+        assertThat(mapper.readTree(encoder.encode(entry)).has("queueMicros")).isFalse();
+    }
+
+    @Test
+    void escapesStringsAndEncodesUtf8() throws Exception {
+        String userAgent = "quote\" back\\slash \n\t\u0001 café € 🚀";
+        AccessLogEntry entry = new AccessLogEntry();
+        entry.set(0L, "", "GET", "/", "/a b", 404, "::1", 0L, userAgent);
+
+        JsonNode json = mapper.readTree(encoder.encode(entry));
+
+        assertThat(json.get("userAgent").asText()).isEqualTo(userAgent);
+        assertThat(json.get("@timestamp").asText()).isEqualTo("1970-01-01T00:00:00.000Z");
+    }
+
+    @Test
+    void writesNullForMissingValues() throws Exception {
+        AccessLogEntry entry = new AccessLogEntry();
+        entry.set(0L, null, "GET", "/", "/", 200, null, 0L, null);
+
+        JsonNode json = mapper.readTree(encoder.encode(entry));
+
+        assertThat(json.get("userAgent").isNull()).isTrue();
+        assertThat(json.get("ip").isNull()).isTrue();
+    }
+
+    @Test
+    void formatsTimestampsLikeJavaTime() {
+        AccessLogEntry entry = new AccessLogEntry();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            long millis = random.nextLong(0L, 4_102_444_800_000L);
+            entry.set(millis, "t", "GET", "/", "/", 200, "ip", 0L, "ua");
+
+            String line = new String(encoder.encode(entry), StandardCharsets.UTF_8);
+
+            assertThat(line).startsWith("{\"@timestamp\":\"" + ISO_MILLIS.format(Instant.ofEpochMilli(millis)) + "\"");
+        }
+    }
+
+    @Test
+    void reusesThreadBufferWhenWritingToStream() throws Exception {
+        AccessLogEntry entry = new AccessLogEntry();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        entry.set(0L, "t", "GET", "/", "/first", 200, "ip", 0L, "ua");
+        encoder.encode(entry, out);
+        entry.set(0L, "t", "GET", "/", "/second", 200, "ip", 0L, "ua");
+        encoder.encode(entry, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(mapper.readTree(lines[0]).get("rawPath").asText()).isEqualTo("/first");
+        assertThat(mapper.readTree(lines[1]).get("rawPath").asText()).isEqualTo("/second");
+    }
+
+    @Test
+    void handsEachLineToALineSinkInOneCall() throws Exception {
+        AccessLogEntry entry = new AccessLogEntry();
+        entry.set(0L, "t", "GET", "/", "/sink", 200, "ip", 0L, "ua");
+        List<byte[]> lines = new ArrayList<>();
+
+        encoder.encode(entry, (line, offset, length) -> lines.add(Arrays.copyOfRange(line, offset, offset + length)));
+
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).isEqualTo(encoder.encode(entry));
+    }
+}
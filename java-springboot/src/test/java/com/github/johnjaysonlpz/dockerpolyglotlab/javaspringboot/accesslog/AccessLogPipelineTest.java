@@ -0,0 +1,106 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class AccessLogPipelineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private AccessLogPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void writesPublishedEntriesInOrderOnConsumerThread() {
+        RecordingSink sink = new RecordingSink();
+        pipeline = new AccessLogPipeline(sink, 16, 4, AccessLogPipeline.OverflowPolicy.BLOCK, registry);
+        pipeline.start();
+
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish("GET", "/", "/" + i, 200, "127.0.0.1", 1_000_000L, "test");
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sink.rawPaths.size() == 100);
+        assertThat(sink.rawPaths).first().isEqualTo("/0");
+        assertThat(sink.rawPaths).last().isEqualTo("/99");
+        assertThat(sink.threads).containsOnly("access-log-writer");
+        assertThat(registry.get("access_log_dropped_total").counter().count()).isZero();
+        assertThat(registry.get("access_log_batch_size").summary().max()).isLessThanOrEqualTo(4.0);
+    }
+
+    @Test
+    void dropsWhenFullUnderDropPolicy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(release);
+        pipeline = new AccessLogPipeline(sink, 16, 1, AccessLogPipeline.OverflowPolicy.DROP, registry);
+        pipeline.start();
+
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish("GET", "/", "/" + i, 200, "127.0.0.1", 1_000_000L, "test");
+        }
+        double dropped = registry.get("access_log_dropped_total").counter().count();
+        release.countDown();
+
+        assertThat(dropped).isGreaterThan(0.0);
+        await().atMost(Duration.ofSeconds(5))
+            .until(() -> sink.rawPaths.size() + (int) dropped == 100);
+        assertThat(pipeline.queueDepth()).isZero();
+    }
+
+    @Test
+    void drainsPendingEntriesOnStop() {
+        RecordingSink sink = new RecordingSink();
+        pipeline = new AccessLogPipeline(sink, 1024, 64, AccessLogPipeline.OverflowPolicy.DROP, registry);
+        pipeline.start();
+
+        for (int i = 0; i < 500; i++) {
+            pipeline.publish("GET", "/", "/", 200, "127.0.0.1", 1_000_000L, "test");
+        }
+        pipeline.stop();
+
+        assertThat(sink.rawPaths).hasSize(500);
+    }
+
+    private static final class RecordingSink implements AccessLogSink {
+        final List<String> rawPaths = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+
+        RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingSink(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void append(AccessLogEntry entry) {
+            try {
+                gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            rawPaths.add(entry.getRawPath());
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void flush() {
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogSamplerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void offModeKeepsEverything() {
+        AccessLogSampler sampler = sampler(AccessLogSampler.Mode.OFF, 0.0, 1);
+
+        assertThat(kept(sampler, "/", 200, FAST, 100)).isEqualTo(100);
+    }
+
+    @Test
+    void rateModeSamplesSuccessesPerRouteAndKeepsErrorsAndSlowRequests() {
+        AccessLogSampler sampler = sampler(AccessLogSampler.Mode.RATE, 0.1, 1);
+
+        assertThat(kept(sampler, "/", 200, FAST, 100)).isEqualTo(10);
+        assertThat(kept(sampler, "/info", 200, FAST, 50)).isEqualTo(5);
+        assertThat(kept(sampler, "/", 503, FAST, 20)).isEqualTo(20);
+        assertThat(kept(sampler, "/", 200, SLOW, 20)).isEqualTo(20);
+        assertThat(kept(sampler, "/", 404, FAST, 20)).isEqualTo(20);
+
+        assertThat(suppressed("/")).isEqualTo(90.0);
+        assertThat(suppressed("/info")).isEqualTo(45.0);
+    }
+
+    @Test
+    void adaptiveModeCapsLinesPerSecondButNeverDropsErrors() {
+        AccessLogSampler sampler = sampler(AccessLogSampler.Mode.ADAPTIVE, 1.0, 10);
+
+        assertThat(kept(sampler, "/", 200, FAST, 100)).isEqualTo(10);
+        assertThat(kept(sampler, "/", 500, FAST, 5)).isEqualTo(5);
+
+        // Next window: the sample rate adapts to the previous second's volume (10 / 105).
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(kept(sampler, "/", 200, FAST, 105)).isBetween(9, 10);
+        assertThat(suppressed("/")).isGreaterThanOrEqualTo(185.0);
+    }
+
+    @Test
+    void summaryReportsSuppressedLinesPerRouteAndResets() {
+        Logger httpLogger = (Logger) LoggerFactory.getLogger("http");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        httpLogger.addAppender(appender);
+        try {
+            AccessLogSampler sampler = sampler(AccessLogSampler.Mode.RATE, 0.5, 1);
+            kept(sampler, "/", 200, FAST, 10);
+            kept(sampler, "__other__", 200, FAST, 4);
+
+            sampler.logSummary();
+            sampler.logSummary();
+
+            assertThat(appender.list).hasSize(1);
+            assertThat(appender.list.get(0).getFormattedMessage())
+                .isEqualTo("http_request_suppressed mode=RATE total=7 routes=/=5,__other__=2");
+        } finally {
+            httpLogger.detachAppender(appender);
+            appender.stop();
+        }
+    }
+
+    private AccessLogSampler sampler(AccessLogSampler.Mode mode, double successRate, long maxLinesPerSecond) {
+        return new AccessLogSampler(
+            mode,
+            Duration.ofSeconds(1),
+            successRate,
+            maxLinesPerSecond,
+            registry,
+            clock::get
+        );
+    }
+
+    private static int kept(AccessLogSampler sampler, String route, int status, long latencyNanos, int requests) {
+        int kept = 0;
+        for (int i = 0; i < requests; i++) {
+            if (sampler.shouldLog(route, status, latencyNanos)) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    private double suppressed(String route) {
+        return registry.get("access_log_suppressed_total").tag("path", route).counter().count();
+    }
+}
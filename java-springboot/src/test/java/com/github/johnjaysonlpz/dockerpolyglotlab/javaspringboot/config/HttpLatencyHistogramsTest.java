@@ -0,0 +1,148 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpLatencyHistogramsTest {
+
+    private static final List<Duration> SLO = List.of(Duration.ofMillis(10), Duration.ofMillis(100));
+
+    private final MockClock clock = new MockClock();
+    private final PrometheusRegistry prometheusRegistry = new PrometheusRegistry();
+    private final PrometheusMeterRegistry registry =
+        new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, prometheusRegistry, clock);
+
+    @Test
+    void appliesPerRouteModesOverTheDefault() {
+        HttpServerMetrics metrics = metrics(
+            new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.CLASSIC, SLO),
+            Map.of(
+                "/", new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NONE, SLO),
+                "/info", new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.SLO, SLO)
+            )
+        );
+
+        metrics.record("GET", "/", 200, 5_000_000L);
+        metrics.record("GET", "/info", 200, 5_000_000L);
+        metrics.record("GET", "/missing", 404, 5_000_000L);
+
+        // Counter-only routes still count requests.
+        assertThat(registry.get("http_requests_total").tag("path", "/").counter().count()).isEqualTo(1.0);
+        assertThat(registry.find("http_request_duration_seconds").tag("path", "/").timer()).isNull();
+
+        CountAtBucket[] slo = registry.get("http_request_duration_seconds").tag("path", "/info")
+            .timer().takeSnapshot().histogramCounts();
+        assertThat(slo).extracting(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+            .containsExactly(10.0, 100.0);
+        assertThat(slo[0].count()).isEqualTo(1.0);
+
+        assertThat(registry.get("http_request_duration_seconds").tag("path", "/missing")
+            .timer().takeSnapshot().histogramCounts()).hasSizeGreaterThan(60);
+    }
+
+    @Test
+    void recordsNativeHistogramsInThePrometheusRegistry() throws IOException {
+        HttpServerMetrics metrics = metrics(
+            new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NATIVE, SLO),
+            Map.of("/", new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NONE, SLO))
+        );
+
+        metrics.record("GET", "/info", 200, 2_000_000L);
+        metrics.record("GET", "/info", 200, 40_000_000L);
+        metrics.record("GET", "/", 200, 1_000_000L);
+
+        assertThat(registry.find("http_request_duration_seconds").timers()).isEmpty();
+
+        HistogramSnapshot snapshot = (HistogramSnapshot) prometheusRegistry.scrape(
+            name -> name.equals("http_request_duration_seconds")).get(0);
+        assertThat(snapshot.getDataPoints()).singleElement().satisfies(point -> {
+            assertThat(point.getLabels().get("path")).isEqualTo("/info");
+            assertThat(point.getLabels().get("service")).isEqualTo("svc");
+            assertThat(point.getCount()).isEqualTo(2);
+            assertThat(point.hasNativeHistogramData()).isTrue();
+            assertThat(point.hasClassicHistogramData()).isFalse();
+        });
+
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        registry.scrape(text, "text/plain; version=0.0.4; charset=utf-8");
+        // The text format has no native buckets: just _count, _sum and the +Inf bucket.
+        assertThat(text.toString(StandardCharsets.UTF_8))
+            .contains("http_request_duration_seconds_count{method=\"GET\",path=\"/info\"")
+            .doesNotContainPattern("le=\"[0-9]");
+    }
+
+    @Test
+    void evictsNativeSeriesWithTheirCounters() {
+        HttpServerMetrics metrics = new HttpServerMetrics(
+            registry,
+            histograms(new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NATIVE, SLO), Map.of()),
+            "http_requests_total",
+            10,
+            Duration.ofMinutes(10)
+        );
+
+        metrics.record("GET", "/missing", 404, 1_000_000L);
+        clock.add(Duration.ofMinutes(11));
+        metrics.evictIdleSeries();
+
+        assertThat(prometheusRegistry.scrape(name -> name.equals("http_request_duration_seconds")).get(0)
+            .getDataPoints()).isEmpty();
+    }
+
+    @Test
+    void rejectsNativeMixedWithBucketedHistograms() {
+        assertThatThrownBy(() -> histograms(
+            new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NATIVE, SLO),
+            Map.of("/info", new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.SLO, SLO))
+        ))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("/info=SLO");
+    }
+
+    private HttpServerMetrics metrics(
+        HttpLatencyHistograms.Route defaults,
+        Map<String, HttpLatencyHistograms.Route> routes
+    ) {
+        HttpServerMetrics metrics = new HttpServerMetrics(
+            registry,
+            histograms(defaults, routes),
+            "http_requests_total",
+            10,
+            Duration.ofMinutes(10)
+        );
+        metrics.registerRoutes(List.of("/", "/info"));
+        return metrics;
+    }
+
+    private HttpLatencyHistograms histograms(
+        HttpLatencyHistograms.Route defaults,
+        Map<String, HttpLatencyHistograms.Route> routes
+    ) {
+        return new HttpLatencyHistograms(
+            registry,
+            prometheusRegistry,
+            "http_request_duration_seconds",
+            Tags.of("service", "svc"),
+            160,
+            defaults,
+            routes
+        );
+    }
+}
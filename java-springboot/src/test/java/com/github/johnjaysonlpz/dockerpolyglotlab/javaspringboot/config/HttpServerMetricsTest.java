@@ -0,0 +1,148 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpServerMetricsTest {
+
+    private MockClock clock;
+    private SimpleMeterRegistry registry;
+    private HttpServerMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        metrics = new HttpServerMetrics(
+            registry,
+            HttpLatencyHistograms.classic(registry, "http_request_duration_seconds"),
+            "http_requests_total",
+            3,
+            Duration.ofMinutes(10)
+        );
+        metrics.registerRoutes(List.of("/", "/info"));
+    }
+
+    @Test
+    void recordsKnownRoutesPerStatus() {
+        metrics.record("GET", "/info", 200, Duration.ofMillis(5));
+        metrics.record("GET", "/info", 200, Duration.ofMillis(7));
+        metrics.record("GET", "/info", 204, Duration.ofMillis(1));
+
+        assertThat(count("GET", "/info", "200")).isEqualTo(2.0);
+        assertThat(count("GET", "/info", "204")).isEqualTo(1.0);
+        assertThat(registry.get("http_request_duration_seconds")
+            .tags("method", "GET", "path", "/info", "status", "200")
+            .timer()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    void fallsBackForUnknownPathsAndMethods() {
+        metrics.record("GET", "/does-not-exist", 404, 1_000_000L);
+        metrics.record("PROPFIND", "/", 405, 1_000_000L);
+        metrics.record("GET", "/", 999, 1_000_000L);
+
+        assertThat(count("GET", "/does-not-exist", "404")).isEqualTo(1.0);
+        assertThat(count("OTHER", "/", "405")).isEqualTo(1.0);
+        assertThat(count("GET", "/", "999")).isEqualTo(1.0);
+    }
+
+    @Test
+    void registersMetersLazily() {
+        assertThat(metrics.routeCount()).isEqualTo(2);
+        assertThat(registry.find("http_requests_total").counters()).isEmpty();
+
+        metrics.record("GET", "/", 200, 1_000_000L);
+
+        assertThat(registry.find("http_requests_total").counters()).hasSize(1);
+    }
+
+    @Test
+    void routesUnknownPathsToOverflowOnceBudgetIsExhausted() {
+        for (int i = 0; i < 10; i++) {
+            metrics.record("GET", "/scan/" + i, 404, 1_000_000L);
+        }
+
+        assertThat(registry.find("http_requests_total").tag("status", "404").counters()).hasSize(4);
+        assertThat(count("GET", HttpServerMetrics.OVERFLOW_PATH, "404")).isEqualTo(7.0);
+        assertThat(registry.get("http_metrics_series_overflow_total").counter().count()).isEqualTo(7.0);
+    }
+
+    @Test
+    void evictsIdleDynamicSeriesButKeepsRouteSeries() {
+        metrics.record("GET", "/", 200, 1_000_000L);
+        metrics.record("GET", "/missing", 404, 1_000_000L);
+        assertThat(registry.get("http_metrics_series").gauge().value()).isEqualTo(2.0);
+
+        clock.add(Duration.ofMinutes(5));
+        metrics.evictIdleSeries();
+        assertThat(registry.find("http_requests_total").tag("path", "/missing").counter()).isNotNull();
+
+        clock.add(Duration.ofMinutes(6));
+        metrics.evictIdleSeries();
+
+        assertThat(registry.find("http_requests_total").tag("path", "/missing").counter()).isNull();
+        assertThat(registry.find("http_request_duration_seconds").tag("path", "/missing").timer()).isNull();
+        assertThat(count("GET", "/", "200")).isEqualTo(1.0);
+        assertThat(registry.get("http_metrics_series").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("http_metrics_series_evictions_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void evictionRacingWithRecordingNeverCachesARemovedSeries() throws Exception {
+        AtomicBoolean done = new AtomicBoolean();
+        Thread recorder = new Thread(() -> {
+            while (!done.get()) {
+                metrics.record("GET", "/missing", 404, 1_000_000L);
+            }
+        });
+        recorder.start();
+        try {
+            for (int i = 0; i < 2_000; i++) {
+                clock.add(Duration.ofMinutes(11));
+                metrics.evictIdleSeries();
+
+                // Only the sweep removes meters, so whatever is cached now must still be registered.
+                metrics.record("GET", "/missing", 404, 1_000_000L);
+                assertThat(registry.find("http_requests_total").tag("path", "/missing").counter()).isNotNull();
+                assertThat(registry.find("http_request_duration_seconds").tag("path", "/missing").timer()).isNotNull();
+            }
+        } finally {
+            done.set(true);
+            recorder.join();
+        }
+    }
+
+    @Test
+    void recordsSampledUsagePerRoute() {
+        metrics.recordUsage("/info", 2_000_000L, 4096L);
+        metrics.recordUsage("/info", -1L, 1024L);
+        metrics.recordUsage("/missing", 1_000_000L, 512L);
+        metrics.recordUsage(null, 1_000_000L, 512L);
+
+        assertThat(registry.get("http_request_cpu_seconds").tag("path", "/info").summary().totalAmount())
+            .isEqualTo(0.002);
+        assertThat(registry.get("http_request_allocated_bytes").tag("path", "/info").summary().totalAmount())
+            .isEqualTo(5120.0);
+        assertThat(registry.get("http_request_allocated_bytes").tag("path", HttpServerMetrics.OVERFLOW_PATH)
+            .summary().count()).isEqualTo(2);
+        assertThat(registry.find("http_request_cpu_seconds").tag("path", "/missing").summary()).isNull();
+    }
+
+    private double count(String method, String path, String status) {
+        return registry.get("http_requests_total")
+            .tags("method", method, "path", path, "status", status)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeHint;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeRuntimeHintsTest() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void everyHintedTypeExists() {
+        // Types are registered by name, so a dependency upgrade that moves a class would
+        // otherwise only surface as a failure in the native binary.
+        assertThat(hints.reflection().typeHints().map(TypeHint::getType))
+            .allSatisfy(type -> assertThat(ClassUtils.isPresent(type.getName(), getClass().getClassLoader()))
+                .as(type.getName())
+                .isTrue());
+    }
+
+    @Test
+    void coversNestedPropertiesForBindingAndValidation() {
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onType(ServiceProperties.Connector.Socket.class)
+            .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onType(ServiceProperties.Limiter.class)
+            .withMemberCategory(MemberCategory.DECLARED_FIELDS))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("prometheus.properties")).accepts(hints);
+    }
+
+    @Test
+    void coversEveryComponentClassInLogbackConfig() throws IOException {
+        String config = new ClassPathResource("logback-spring.xml").getContentAsString(StandardCharsets.UTF_8);
+        Matcher matcher = Pattern.compile("class=\"([^\"]+)\"").matcher(config);
+
+        int components = 0;
+        while (matcher.find()) {
+            String type = matcher.group(1);
+            if (type.startsWith("ch.qos.logback.")) {
+                // Logback's own components are covered by Spring Boot's logback AOT support.
+                continue;
+            }
+            components++;
+            assertThat(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of(type))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+                .as(type)
+                .accepts(hints);
+        }
+        assertThat(components).isPositive();
+    }
+}
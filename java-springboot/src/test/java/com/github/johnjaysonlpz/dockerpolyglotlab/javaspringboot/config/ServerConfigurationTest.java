@@ -0,0 +1,86 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown.DrainableHttp11NioProtocol;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerConfigurationTest {
+
+    @Test
+    void addsNoConnectorByDefault() {
+        TomcatServletWebServerFactory factory = customize(new ServiceProperties());
+
+        assertThat(factory.getPort()).isEqualTo(8080);
+        assertThat(factory.getAdditionalTomcatConnectors()).isEmpty();
+    }
+
+    @Test
+    void addsABoundedManagementConnectorWhenEnabled() {
+        ServiceProperties props = new ServiceProperties();
+        props.setHost("127.0.0.1");
+        props.getManagementConnector().setEnabled(true);
+        props.getManagementConnector().setPort(9191);
+        props.getManagementConnector().setMaxThreads(2);
+        props.getManagementConnector().setMaxQueueSize(8);
+
+        TomcatServletWebServerFactory factory = customize(props);
+
+        assertThat(factory.getAdditionalTomcatConnectors()).hasSize(1);
+        Connector connector = factory.getAdditionalTomcatConnectors().get(0);
+        assertThat(connector.getPort()).isEqualTo(9191);
+        assertThat(connector.getProperty("maxThreads")).isEqualTo(2);
+        assertThat(connector.getProperty("maxQueueSize")).isEqualTo(8);
+        assertThat(connector.getProperty("connectionTimeout")).isEqualTo(2000);
+        assertThat(String.valueOf(connector.getProperty("address"))).contains("127.0.0.1");
+        assertThat(connector.getProtocolHandler()).isInstanceOf(DrainableHttp11NioProtocol.class);
+    }
+
+    private static TomcatServletWebServerFactory customize(ServiceProperties props) {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+        new ServerConfiguration().tomcatCustomizer(props).customize(factory);
+        return factory;
+    }
+
+    @Test
+    void appliesConnectorTuningToTheMainConnector() {
+        ServiceProperties props = new ServiceProperties();
+        props.getConnector().setHttp2(true);
+        props.getConnector().setMaxConnections(2048);
+        props.getConnector().setAcceptCount(512);
+        props.getConnector().setMaxKeepAliveRequests(-1);
+        props.getConnector().getCompression().setEnabled(true);
+        props.getConnector().getCompression().setMinResponseSize(DataSize.ofKilobytes(1));
+        props.getConnector().getSocket().setReceiveBufferSize(DataSize.ofKilobytes(64));
+
+        Connector connector = mainConnector(props);
+
+        assertThat(connector.getProperty("maxConnections")).isEqualTo(2048);
+        assertThat(connector.getProperty("acceptCount")).isEqualTo(512);
+        assertThat(connector.getProperty("compression")).isEqualTo("on");
+        assertThat(connector.getProperty("compressionMinSize")).isEqualTo(1024);
+        assertThat(String.valueOf(connector.getProperty("socket.tcpNoDelay"))).isEqualTo("true");
+        assertThat(String.valueOf(connector.getProperty("socket.rxBufSize"))).isEqualTo("65536");
+        assertThat(connector.findUpgradeProtocols()).singleElement().isInstanceOf(Http2Protocol.class);
+    }
+
+    @Test
+    void leavesCompressionAndHttp2OffByDefault() {
+        Connector connector = mainConnector(new ServiceProperties());
+
+        assertThat(connector.getProperty("compression")).isEqualTo("off");
+        assertThat(connector.findUpgradeProtocols()).isEmpty();
+        assertThat(connector.getProperty("connectionTimeout")).isEqualTo(5000);
+    }
+
+    private static Connector mainConnector(ServiceProperties props) {
+        TomcatServletWebServerFactory factory = customize(props);
+        Connector connector = new Connector(TomcatServletWebServerFactory.DEFAULT_PROTOCOL);
+        factory.getTomcatConnectorCustomizers().forEach(customizer -> customizer.customize(connector));
+        return connector;
+    }
+}
@@ -1,6 +1,11 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
 
+import java.time.Duration;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogPipeline;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.accesslog.AccessLogSampler;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
 import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
 import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
@@ -11,6 +16,9 @@ import org.springframework.context.annotation.Configuration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+// ApplicationContextRunner parses configuration classes reflectively at runtime, which a native
+// image cannot do. In native mode InvalidConfigStartupTest covers validation through the AOT context.
+@DisabledInNativeImage
 class ServicePropertiesTest {
 
     private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
@@ -38,6 +46,26 @@ class ServicePropertiesTest {
             assertThat(props.getReadTimeout()).hasSeconds(5);
             assertThat(props.getIdleTimeout()).hasSeconds(120);
             assertThat(props.getShutdownTimeout()).hasSeconds(5);
+            assertThat(props.getMetrics().getMaxDynamicSeries()).isEqualTo(100);
+            assertThat(props.getMetrics().getSeriesIdleTtl()).hasMinutes(10);
+            assertThat(props.getMetrics().getSweepInterval()).hasMinutes(1);
+            assertThat(props.getMetrics().getScrapeCacheTtl()).hasSeconds(1);
+            assertThat(props.getMetrics().getHistogram().getMode()).isEqualTo(HttpLatencyHistograms.Mode.CLASSIC);
+            assertThat(props.getMetrics().getHistogram().getSloBuckets()).hasSize(10);
+            assertThat(props.getMetrics().getHistogram().getRoutes()).isEmpty();
+            assertThat(props.getAccessLog().getCapacity()).isEqualTo(8192);
+            assertThat(props.getAccessLog().getBatchSize()).isEqualTo(256);
+            assertThat(props.getAccessLog().getOverflowPolicy()).isEqualTo(AccessLogPipeline.OverflowPolicy.DROP);
+            assertThat(props.getAccessLog().getSink()).isEqualTo(ServiceProperties.AccessLog.Sink.LOGGER);
+            assertThat(props.getAccessLog().getSampling().getMode()).isEqualTo(AccessLogSampler.Mode.OFF);
+            assertThat(props.getAccessLog().getSampling().getSlowThreshold()).hasMillis(500);
+            assertThat(props.getLogFile().isEnabled()).isFalse();
+            assertThat(props.getLogFile().getSegmentSize().toMegabytes()).isEqualTo(64);
+            assertThat(props.getLogFile().getRollInterval()).hasHours(1);
+            assertThat(props.getLogFile().getFlushInterval()).hasSeconds(1);
+            assertThat(props.getLimiter().isEnabled()).isFalse();
+            assertThat(props.getLimiter().getInitialLimit()).isEqualTo(200);
+            assertThat(props.getLimiter().isDrainOnSaturation()).isFalse();
         });
     }
 
@@ -52,7 +80,23 @@ class ServicePropertiesTest {
                 "app.port=9000",
                 "app.read-timeout=2s",
                 "app.idle-timeout=15s",
-                "app.shutdown-timeout=4s"
+                "app.shutdown-timeout=4s",
+                "app.metrics.max-dynamic-series=50",
+                "app.metrics.series-idle-ttl=2m",
+                "app.metrics.sweep-interval=10s",
+                "app.access-log.capacity=1024",
+                "app.access-log.overflow-policy=block",
+                "app.access-log.sink=file",
+                "app.log-file.segment-size=16MB",
+                "app.log-file.flush-interval=250ms",
+                "app.access-log.sampling.mode=adaptive",
+                "app.access-log.sampling.success-rate=0.25",
+                "app.limiter.enabled=true",
+                "app.limiter.max-limit=500",
+                "app.limiter.saturation-period=20s",
+                "app.connector.http2=true",
+                "app.connector.compression.mime-types=application/json,text/plain",
+                "app.connector.socket.send-buffer-size=128KB"
             )
             .run(context -> {
                 assertThat(context).hasNotFailed();
@@ -65,6 +109,23 @@ class ServicePropertiesTest {
                 assertThat(props.getReadTimeout()).hasSeconds(2);
                 assertThat(props.getIdleTimeout()).hasSeconds(15);
                 assertThat(props.getShutdownTimeout()).hasSeconds(4);
+                assertThat(props.getMetrics().getMaxDynamicSeries()).isEqualTo(50);
+                assertThat(props.getMetrics().getSeriesIdleTtl()).hasMinutes(2);
+                assertThat(props.getMetrics().getSweepInterval()).hasSeconds(10);
+                assertThat(props.getAccessLog().getCapacity()).isEqualTo(1024);
+                assertThat(props.getAccessLog().getOverflowPolicy()).isEqualTo(AccessLogPipeline.OverflowPolicy.BLOCK);
+                assertThat(props.getAccessLog().getSink()).isEqualTo(ServiceProperties.AccessLog.Sink.FILE);
+                assertThat(props.getLogFile().getSegmentSize().toMegabytes()).isEqualTo(16);
+                assertThat(props.getLogFile().getFlushInterval()).hasMillis(250);
+                assertThat(props.getAccessLog().getSampling().getMode()).isEqualTo(AccessLogSampler.Mode.ADAPTIVE);
+                assertThat(props.getAccessLog().getSampling().getSuccessRate()).isEqualTo(0.25);
+                assertThat(props.getLimiter().isEnabled()).isTrue();
+                assertThat(props.getLimiter().getMaxLimit()).isEqualTo(500);
+                assertThat(props.getLimiter().getSaturationPeriod()).hasSeconds(20);
+                assertThat(props.getConnector().isHttp2()).isTrue();
+                assertThat(props.getConnector().getCompression().getMimeTypes())
+                    .containsExactly("application/json", "text/plain");
+                assertThat(props.getConnector().getSocket().getSendBufferSize().toKilobytes()).isEqualTo(128);
             });
     }
 
@@ -84,4 +145,100 @@ class ServicePropertiesTest {
                     });
             });
     }
+
+    @Test
+    void failsValidationOnBadMetricsValues() {
+        contextRunner
+            .withPropertyValues(
+                "app.metrics.max-dynamic-series=0",
+                "app.metrics.series-idle-ttl=0s",
+                "app.access-log.sampling.success-rate=1.5"
+            )
+            .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void bindsPerRouteHistogramOverrides() {
+        contextRunner
+            .withPropertyValues(
+                "app.metrics.histogram.mode=slo",
+                "app.metrics.histogram.slo-buckets=10ms,100ms,1s",
+                "app.metrics.histogram.routes[/].mode=none",
+                "app.metrics.histogram.routes[/info].slo-buckets=50ms"
+            )
+            .run(context -> {
+                assertThat(context).hasNotFailed();
+                ServiceProperties.Metrics.Histogram histogram =
+                    context.getBean(ServiceProperties.class).getMetrics().getHistogram();
+                assertThat(histogram.getMode()).isEqualTo(HttpLatencyHistograms.Mode.SLO);
+                assertThat(histogram.getSloBuckets())
+                    .containsExactly(Duration.ofMillis(10), Duration.ofMillis(100), Duration.ofSeconds(1));
+                assertThat(histogram.getRoutes().get("/").getMode()).isEqualTo(HttpLatencyHistograms.Mode.NONE);
+                assertThat(histogram.getRoutes().get("/info").getMode()).isNull();
+                assertThat(histogram.getRoutes().get("/info").getSloBuckets()).containsExactly(Duration.ofMillis(50));
+            });
+    }
+
+    @Test
+    void failsValidationWhenLimiterBoundsAreOutOfOrder() {
+        contextRunner
+            .withPropertyValues("app.limiter.min-limit=500", "app.limiter.initial-limit=200")
+            .run(context -> {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure()).hasStackTraceContaining("limitRangeValid");
+            });
+
+        contextRunner
+            .withPropertyValues("app.limiter.initial-limit=5000")
+            .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void failsValidationWhenProfilingDefaultDurationExceedsTheMax() {
+        contextRunner
+            .withPropertyValues("app.profiling.default-duration=90s", "app.profiling.max-duration=60s")
+            .run(context -> {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure()).hasStackTraceContaining("durationRangeValid");
+            });
+    }
+
+    @Test
+    void failsValidationWhenProfilingIsEnabledWithoutATokenOnTheApplicationPort() {
+        contextRunner
+            .withPropertyValues("app.profiling.enabled=true", "app.profiling.token=  ")
+            .run(context -> {
+                assertThat(context).hasFailed();
+                assertThat(context.getStartupFailure()).hasStackTraceContaining("profilingProtected");
+            });
+
+        contextRunner
+            .withPropertyValues("app.profiling.enabled=true", "app.profiling.token=secret")
+            .run(context -> assertThat(context).hasNotFailed());
+
+        contextRunner
+            .withPropertyValues("app.profiling.enabled=true", "app.management-connector.enabled=true")
+            .run(context -> assertThat(context).hasNotFailed());
+    }
+
+    @Test
+    void failsValidationOnBadRateLimitValues() {
+        contextRunner
+            .withPropertyValues(
+                "app.rate-limit.limit=0",
+                "app.rate-limit.period=0s",
+                "app.rate-limit.max-clients=8"
+            )
+            .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Test
+    void failsValidationOnBadConnectorValues() {
+        contextRunner
+            .withPropertyValues(
+                "app.connector.accept-count=0",
+                "app.connector.max-keep-alive-requests=-2"
+            )
+            .run(context -> assertThat(context).hasFailed());
+    }
 }
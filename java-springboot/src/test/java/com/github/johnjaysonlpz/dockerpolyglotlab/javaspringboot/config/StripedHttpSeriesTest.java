@@ -0,0 +1,154 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedHttpSeriesTest {
+
+    private static final String TEXT = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String OPENMETRICS = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final List<Duration> SLO = List.of(Duration.ofMillis(10), Duration.ofMillis(100));
+
+    private final MockClock clock = new MockClock();
+
+    @Test
+    void exportsTheSameSeriesAsMicrometerMeters() throws IOException {
+        Recording micrometer = new Recording(false);
+        Recording striped = new Recording(true);
+
+        for (Recording recording : List.of(micrometer, striped)) {
+            HttpServerMetrics metrics = recording.metrics;
+            for (int i = 1; i <= 500; i++) {
+                metrics.record("GET", "/", 200, TimeUnit.MICROSECONDS.toNanos(i * 37L));
+                metrics.record("GET", "/info", (i % 10 == 0) ? 500 : 200, TimeUnit.MILLISECONDS.toNanos(i % 150));
+                metrics.record("POST", "/skip", 204, 1_000_000L);
+            }
+            metrics.record("GET", "/missing", 404, TimeUnit.SECONDS.toNanos(90));
+            metrics.record("GET", "/", 200, 10_000_000L);
+        }
+
+        assertThat(striped.scrape(TEXT)).isEqualTo(micrometer.scrape(TEXT));
+        assertThat(striped.scrape(OPENMETRICS)).isEqualTo(micrometer.scrape(OPENMETRICS));
+
+        // Both keep the max for the same rolling window.
+        clock.add(Duration.ofMinutes(3));
+        assertThat(striped.scrape(TEXT)).isEqualTo(micrometer.scrape(TEXT))
+            .contains("http_request_duration_seconds_max{method=\"GET\",path=\"/\",service=\"svc\",status=\"200\",version=\"1\"} 0.0");
+    }
+
+    @Test
+    void countsEveryRecordFromConcurrentThreads() throws Exception {
+        Recording striped = new Recording(true);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                done.add(threads.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        striped.metrics.record("GET", "/info", 200, 2_000_000L);
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(striped.scrape(TEXT))
+            .contains("http_requests_total{method=\"GET\",path=\"/info\",service=\"svc\",status=\"200\",version=\"1\"} 80000.0")
+            .contains("http_request_duration_seconds_count{method=\"GET\",path=\"/info\",service=\"svc\",status=\"200\",version=\"1\"} 80000");
+    }
+
+    @Test
+    void evictsIdleSeries() throws IOException {
+        Recording striped = new Recording(true);
+        striped.metrics.record("GET", "/missing", 404, 1_000_000L);
+        clock.add(Duration.ofMinutes(11));
+        striped.metrics.evictIdleSeries();
+
+        assertThat(striped.scrape(TEXT)).doesNotContain("/missing");
+    }
+
+    @Test
+    void rejectsNativeHistograms() {
+        PrometheusRegistry prometheusRegistry = new PrometheusRegistry();
+        PrometheusMeterRegistry registry =
+            new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, prometheusRegistry, clock);
+        HttpLatencyHistograms histograms = new HttpLatencyHistograms(
+            registry, prometheusRegistry, "http_request_duration_seconds", Tags.empty(), 160,
+            new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NATIVE, SLO), Map.of());
+        StripedHttpSeries striped = new StripedHttpSeries(
+            prometheusRegistry, "http_requests_total", "help", "latency_seconds", Tags.empty(), 4, clock);
+
+        assertThatThrownBy(() -> new HttpServerMetrics(
+            registry, histograms, striped, "http_requests_total", 10, Duration.ofMinutes(10)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("native");
+    }
+
+    private final class Recording {
+
+        final PrometheusMeterRegistry registry;
+        final HttpServerMetrics metrics;
+
+        Recording(boolean striped) {
+            PrometheusRegistry prometheusRegistry = new PrometheusRegistry();
+            registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT, prometheusRegistry, clock);
+            registry.config().commonTags("service", "svc", "version", "1");
+            Tags commonTags = Tags.of("service", "svc", "version", "1");
+
+            HttpLatencyHistograms histograms = new HttpLatencyHistograms(
+                registry,
+                prometheusRegistry,
+                "http_request_duration_seconds",
+                commonTags,
+                160,
+                new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.CLASSIC, SLO),
+                Map.of(
+                    "/info", new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.SLO, SLO),
+                    "/skip", new HttpLatencyHistograms.Route(HttpLatencyHistograms.Mode.NONE, SLO)
+                )
+            );
+            StripedHttpSeries stripes = striped
+                ? new StripedHttpSeries(
+                    prometheusRegistry,
+                    "http_requests_total",
+                    HttpServerMetrics.REQUESTS_DESCRIPTION,
+                    "http_request_duration_seconds",
+                    commonTags,
+                    8,
+                    clock)
+                : null;
+            metrics = new HttpServerMetrics(
+                registry, histograms, stripes, "http_requests_total", 10, Duration.ofMinutes(10));
+            metrics.registerRoutes(List.of("/", "/info", "/skip"));
+        }
+
+        String scrape(String contentType) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            registry.scrape(out, contentType);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(123_456_789L);
+
+    @Test
+    void admitsTheBurstThenThrottlesUntilTheBucketRefills() {
+        ClientRateLimiter limiter = new ClientRateLimiter(10, Duration.ofSeconds(1), 5, 64, registry, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertThat(wait).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(registry.get("http_requests_throttled_total").counter().count()).isEqualTo(1.0);
+
+        clock.addAndGet(wait);
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+    }
+
+    @Test
+    void clientsHaveIndependentBuckets() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, Duration.ofMinutes(1), 1, 64, registry, clock::get);
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isPositive();
+    }
+
+    @Test
+    void tableStaysBoundedAndEvictsIdleClientsFirst() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, Duration.ofMinutes(1), 1, 64, registry, clock::get);
+        assertThat(limiter.capacity()).isEqualTo(64);
+
+        // An active client that has just been throttled ...
+        assertThat(limiter.tryAcquire("hot")).isZero();
+
+        // ... survives a scan of thousands of one-off clients, each older than it.
+        for (int i = 0; i < 10_000; i++) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(120));
+            limiter.tryAcquire("hot");
+            limiter.tryAcquire("scan-" + i);
+        }
+
+        assertThat(limiter.capacity()).isEqualTo(64);
+        assertThat(limiter.tryAcquire("hot")).isPositive();
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimiterTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long QUEUED = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shedsOnceTheLimitIsReachedAndCountsIt() {
+        GradientConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        assertThat(limiter.inflight()).isEqualTo(10);
+        assertThat(limiter.shedCount()).isEqualTo(2);
+        assertThat(registry.get("http_requests_shed_total").counter().count()).isEqualTo(2.0);
+        assertThat(registry.get("http_inflight_requests").gauge().value()).isEqualTo(10.0);
+
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItRises() {
+        GradientConcurrencyLimiter limiter = limiter(10);
+
+        saturatedWindow(limiter, FAST);
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(10);
+        assertThat(registry.get("http_concurrency_limit").gauge().value()).isEqualTo(grown);
+
+        saturatedWindow(limiter, QUEUED);
+        assertThat(limiter.limit()).isLessThan(grown);
+    }
+
+    @Test
+    void idleWindowsLeaveTheLimitAlone() {
+        GradientConcurrencyLimiter limiter = limiter(40);
+
+        for (int window = 0; window < 5; window++) {
+            for (int i = 0; i < 20; i++) {
+                limiter.tryAcquire();
+                limiter.release(window % 2 == 0 ? FAST : QUEUED);
+            }
+            clock.addAndGet(WINDOW.toNanos());
+        }
+
+        assertThat(limiter.limit()).isEqualTo(40);
+    }
+
+    @Test
+    void limitStaysWithinBounds() {
+        GradientConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 20; i++) {
+            saturatedWindow(limiter, QUEUED * (i + 1));
+        }
+        assertThat(limiter.limit()).isEqualTo(5);
+
+        for (int i = 0; i < 200; i++) {
+            saturatedWindow(limiter, FAST);
+        }
+        assertThat(limiter.limit()).isEqualTo(50);
+    }
+
+    private GradientConcurrencyLimiter limiter(int initialLimit) {
+        return new GradientConcurrencyLimiter(initialLimit, 5, 50, 1.5, 1.0, WINDOW, registry, clock::get);
+    }
+
+    // Fills the limit, lets the window elapse, then completes every request.
+    private void saturatedWindow(GradientConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        clock.addAndGet(WINDOW.toNanos());
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ReadinessStateHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SaturationMonitorTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ReadinessStateHolder readiness = new ReadinessStateHolder();
+    private final List<ReadinessState> published = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    private final ApplicationEventPublisher publisher = event -> {
+        AvailabilityChangeEvent<ReadinessState> change = (AvailabilityChangeEvent<ReadinessState>) event;
+        published.add(change.getState());
+        readiness.onApplicationEvent(change);
+    };
+
+    private final GradientConcurrencyLimiter limiter = new GradientConcurrencyLimiter(
+        1, 1, 1, 1.5, 0.2, Duration.ofSeconds(1), new SimpleMeterRegistry(), clock::get
+    );
+
+    private final SaturationMonitor monitor = new SaturationMonitor(
+        limiter, publisher, readiness, Duration.ofSeconds(3), Duration.ofSeconds(5), clock::get
+    );
+
+    @BeforeEach
+    void applicationIsReady() {
+        readiness.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+    }
+
+    @Test
+    void refusesTrafficAfterSustainedSheddingAndRestoresAfterRecovery() {
+        limiter.tryAcquire();
+
+        for (int second = 0; second < 3; second++) {
+            tick(true);
+        }
+        assertThat(published).isEmpty();
+
+        tick(true);
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC);
+
+        for (int second = 0; second < 5; second++) {
+            tick(false);
+        }
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC);
+
+        tick(false);
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(readiness.getState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void intermittentSheddingDoesNotFlipReadiness() {
+        limiter.tryAcquire();
+
+        for (int second = 0; second < 20; second++) {
+            tick(second % 3 != 0);
+        }
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void leavesReadinessRefusedBySomeoneElseAlone() {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        published.clear();
+        limiter.tryAcquire();
+
+        for (int second = 0; second < 20; second++) {
+            tick(true);
+        }
+        for (int second = 0; second < 20; second++) {
+            tick(false);
+        }
+
+        assertThat(published).isEmpty();
+        assertThat(readiness.getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    @Test
+    void neverRestoresReadinessOnceShutdownHasStarted() {
+        limiter.tryAcquire();
+        for (int second = 0; second < 4; second++) {
+            tick(true);
+        }
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC);
+
+        readiness.markShuttingDown();
+        for (int second = 0; second < 10; second++) {
+            tick(false);
+        }
+
+        assertThat(published).containsExactly(ReadinessState.REFUSING_TRAFFIC);
+        assertThat(readiness.getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    private void tick(boolean shed) {
+        if (shed) {
+            limiter.tryAcquire();
+        }
+        monitor.run();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    }
+}
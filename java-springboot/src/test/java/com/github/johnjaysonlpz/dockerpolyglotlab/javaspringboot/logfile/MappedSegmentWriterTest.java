@@ -0,0 +1,115 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.logfile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedSegmentWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void trimsSegmentToWrittenLengthOnClose() throws IOException {
+        MappedSegmentWriter writer = writer(4096, 10);
+        append(writer, "{\"a\":1}\n");
+        append(writer, "{\"b\":2}\n");
+        writer.close();
+
+        assertThat(Files.readString(dir.resolve("test-00000001.log"))).isEqualTo("{\"a\":1}\n{\"b\":2}\n");
+    }
+
+    @Test
+    void rollsBySizeAndByTime() throws IOException {
+        String line = "x".repeat(999) + "\n";
+        try (MappedSegmentWriter writer = writer(4096, 10)) {
+            for (int i = 0; i < 5; i++) {
+                append(writer, line);
+            }
+            assertThat(writer.currentSegment().getFileName().toString()).isEqualTo("test-00000002.log.active");
+
+            clock.addAndGet(Duration.ofMinutes(61).toNanos());
+            append(writer, line);
+            assertThat(writer.currentSegment().getFileName().toString()).isEqualTo("test-00000003.log.active");
+        }
+
+        assertThat(Files.size(dir.resolve("test-00000001.log"))).isEqualTo(4000);
+        assertThat(Files.size(dir.resolve("test-00000002.log"))).isEqualTo(1000);
+        assertThat(Files.size(dir.resolve("test-00000003.log"))).isEqualTo(1000);
+    }
+
+    @Test
+    void keepsOnlyMaxSegments() throws IOException {
+        try (MappedSegmentWriter writer = writer(4096, 2)) {
+            for (int i = 0; i < 5; i++) {
+                clock.addAndGet(Duration.ofHours(2).toNanos());
+                append(writer, "line\n");
+            }
+        }
+
+        assertThat(segmentNames()).containsExactly("test-00000005.log", "test-00000006.log");
+    }
+
+    @Test
+    void recoversCrashedSegmentAtLastCompleteRecord() throws IOException {
+        byte[] crashed = new byte[4096];
+        byte[] written = "{\"a\":1}\n{\"b\":2}\n{\"c\":".getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(written, 0, crashed, 0, written.length);
+        Files.write(dir.resolve("test-00000007.log.active"), crashed);
+
+        try (MappedSegmentWriter writer = writer(4096, 10)) {
+            assertThat(writer.currentSegment().getFileName().toString()).isEqualTo("test-00000008.log.active");
+        }
+
+        assertThat(Files.readString(dir.resolve("test-00000007.log"))).isEqualTo("{\"a\":1}\n{\"b\":2}\n");
+        assertThat(segmentNames()).containsExactly("test-00000007.log", "test-00000008.log");
+    }
+
+    @Test
+    void keepsTheLiveSegmentUnderANameShippersDoNotMatch() throws IOException {
+        try (MappedSegmentWriter writer = writer(4096, 10)) {
+            append(writer, "{\"a\":1}\n");
+
+            assertThat(segmentNames()).containsExactly("test-00000001.log.active");
+            assertThat(Files.size(writer.currentSegment())).isEqualTo(4096);
+        }
+
+        assertThat(segmentNames()).containsExactly("test-00000001.log");
+        assertThat(Files.size(dir.resolve("test-00000001.log"))).isEqualTo(8);
+    }
+
+    private MappedSegmentWriter writer(long segmentSize, int maxSegments) throws IOException {
+        return new MappedSegmentWriter(
+            dir,
+            "test",
+            segmentSize,
+            Duration.ofHours(1),
+            Duration.ofSeconds(1),
+            maxSegments,
+            clock::get
+        );
+    }
+
+    private static void append(MappedSegmentWriter writer, String line) throws IOException {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        writer.append(bytes, 0, bytes.length);
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRuntimeMetricsTest {
+
+    private final ServiceProperties.JfrMetrics config = new ServiceProperties.JfrMetrics();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JfrRuntimeMetrics metrics = new JfrRuntimeMetrics(config);
+
+    @AfterEach
+    void tearDown() {
+        metrics.close();
+    }
+
+    @Test
+    void recordsStallsOverTheirThresholds() throws Exception {
+        metrics.bindTo(registry);
+        metrics.start();
+
+        contendMonitor();
+        contendLock();
+        pinVirtualThread();
+        System.gc();
+
+        awaitNonZero(() -> registry.get("jfr_lock_wait_seconds").tag("kind", "monitor").timer().count());
+        awaitNonZero(() -> registry.get("jfr_lock_wait_seconds").tag("kind", "lock").timer().count());
+        awaitNonZero(() -> registry.get("jfr_virtual_thread_pinned_seconds").timer().count());
+        awaitNonZero(() -> registry.find("jfr_gc_pause_seconds").timers().stream().mapToLong(t -> t.count()).sum());
+
+        assertThat(registry.get("jfr_virtual_thread_pinned_seconds").timer().max(TimeUnit.MILLISECONDS))
+            .isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void bindsMetersWithoutStartingTheStream() {
+        metrics.bindTo(registry);
+
+        assertThat(registry.find("jfr_safepoint_seconds").timer()).isNotNull();
+        assertThat(registry.find("jfr_lock_wait_seconds").timers()).hasSize(2);
+        assertThat(metrics.isStarted()).isFalse();
+
+        metrics.start();
+        assertThat(metrics.isStarted()).isTrue();
+
+        metrics.close();
+        metrics.start();
+        assertThat(metrics.isStarted()).isFalse();
+    }
+
+    @Test
+    void registersNothingWhenDisabled() {
+        config.setEnabled(false);
+        metrics.bindTo(registry);
+        metrics.start();
+
+        assertThat(registry.getMeters()).isEmpty();
+        assertThat(metrics.isStarted()).isFalse();
+    }
+
+    private static void contendMonitor() throws InterruptedException {
+        Object monitor = new Object();
+        CountDownLatch held = new CountDownLatch(1);
+        Thread owner = Thread.ofPlatform().start(() -> {
+            synchronized (monitor) {
+                held.countDown();
+                sleep(100);
+            }
+        });
+        held.await();
+        synchronized (monitor) {
+            monitor.notifyAll();
+        }
+        owner.join();
+    }
+
+    private static void contendLock() throws InterruptedException {
+        ReentrantLock lock = new ReentrantLock();
+        CountDownLatch held = new CountDownLatch(1);
+        Thread owner = Thread.ofPlatform().start(() -> {
+            lock.lock();
+            try {
+                held.countDown();
+                sleep(100);
+            } finally {
+                lock.unlock();
+            }
+        });
+        held.await();
+        lock.lock();
+        lock.unlock();
+        owner.join();
+    }
+
+    // Blocking inside synchronized pins a virtual thread to its carrier.
+    private static void pinVirtualThread() throws InterruptedException {
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                sleep(100);
+            }
+        }).join();
+    }
+
+    private static void awaitNonZero(Supplier<Number> value) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(15).toNanos();
+        while (value.get().doubleValue() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(value.get().doubleValue()).isPositive();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrainableHttp11NioProtocolTest {
+
+    @TempDir
+    Path baseDir;
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private Tomcat tomcat;
+    private Connector connector;
+
+    @BeforeEach
+    void startTomcat() throws Exception {
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+        connector = new Connector(DrainableHttp11NioProtocol.class.getName());
+        connector.setPort(0);
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "app", new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                if (request.getRequestURI().equals("/slow")) {
+                    entered.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                response.setContentLength(2);
+                response.getWriter().write("ok");
+            }
+        });
+        context.addServletMappingDecoded("/*", "app");
+        tomcat.start();
+    }
+
+    @AfterEach
+    void stopTomcat() throws Exception {
+        release.countDown();
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    void closesOnlyConnectionsIdleBetweenRequests() throws Exception {
+        DrainableHttp11NioProtocol protocol = (DrainableHttp11NioProtocol) connector.getProtocolHandler();
+
+        try (Socket idle = connect(); Socket busy = connect()) {
+            send(idle, "/fast");
+            assertThat(readResponse(idle)).endsWith("ok");
+
+            send(busy, "/slow");
+            assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Tomcat may still hold the idle socket for a moment after writing the response.
+            int closed = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (closed == 0 && System.nanoTime() < deadline) {
+                closed = protocol.closeIdleConnections();
+                Thread.sleep(10);
+            }
+
+            assertThat(closed).isEqualTo(1);
+            assertThat(idle.getInputStream().read()).isEqualTo(-1);
+
+            release.countDown();
+            assertThat(readResponse(busy)).endsWith("ok");
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket("127.0.0.1", connector.getLocalPort());
+        socket.setSoTimeout(10_000);
+        return socket;
+    }
+
+    private static void send(Socket socket, String path) throws IOException {
+        String request = "GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n";
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+    }
+
+    // Reads one response with a two-byte body, leaving the connection open.
+    private static String readResponse(Socket socket) throws IOException {
+        InputStream in = socket.getInputStream();
+        StringBuilder response = new StringBuilder();
+        int headerEnd = -1;
+        while (headerEnd < 0 || response.length() < headerEnd + 2) {
+            int b = in.read();
+            if (b < 0) {
+                break;
+            }
+            response.append((char) b);
+            if (headerEnd < 0 && response.toString().endsWith("\r\n\r\n")) {
+                headerEnd = response.length();
+            }
+        }
+        return response.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.shutdown;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ReadinessStateHolder;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShutdownDrainTest {
+
+    private final ServiceProperties props = new ServiceProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GenericApplicationContext context = new GenericApplicationContext();
+
+    private ReadinessStateHolder readiness;
+    private ShutdownDrain drain;
+
+    @BeforeEach
+    void setUp() {
+        context.registerBean(ReadinessStateHolder.class);
+        context.refresh();
+        readiness = context.getBean(ReadinessStateHolder.class);
+        AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+        drain = new ShutdownDrain(props, readiness, registry);
+        drain.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void refusesTrafficForTheWholePropagationDelay() {
+        props.getDrain().setPropagationDelay(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        drain.onApplicationEvent(new ContextClosedEvent(context));
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(readiness.getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+
+        AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(readiness.getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    @Test
+    void countsRequestsStillInFlightWhenTheServerStopsAsAborted() {
+        drain.requestStarted();
+        drain.requestStarted();
+        drain.requestStarted();
+        drain.requestFinished();
+        assertThat(registry.get("http_server_requests_in_flight").gauge().value()).isEqualTo(2.0);
+
+        drain.onApplicationEvent(new ContextClosedEvent(context));
+        drain.requestFinished();
+        drain.stop();
+
+        assertThat(drain.isRunning()).isFalse();
+        assertThat(registry.get("server_shutdown_aborted_requests_total").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("server_shutdown_drain_seconds").timer().count()).isEqualTo(1);
+        assertThat(registry.get("server_shutdown_idle_connections_closed_total").counter().count()).isZero();
+    }
+}
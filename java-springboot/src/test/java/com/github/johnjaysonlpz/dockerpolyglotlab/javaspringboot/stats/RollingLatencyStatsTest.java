@@ -0,0 +1,89 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.HttpServerMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RollingLatencyStatsTest {
+
+    private final RollingLatencyStats stats = new RollingLatencyStats(true, Duration.ofSeconds(5), 3);
+
+    RollingLatencyStatsTest() {
+        stats.registerRoutes(List.of("/", "/info"));
+    }
+
+    @Test
+    void reportsPercentilesAndRatePerRouteAndStatusClass() {
+        for (int millis = 1; millis <= 1000; millis++) {
+            stats.record("/", 200, TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+        stats.record("/", 503, TimeUnit.MILLISECONDS.toNanos(7));
+        stats.rotate();
+
+        RollingLatencyStats.WindowStats window = stats.snapshot().windows().get("10s");
+        RollingLatencyStats.SeriesStats ok = window.routes().get("/").get("2xx");
+
+        // One completed 5s interval so far.
+        assertThat(window.seconds()).isEqualTo(5.0);
+        assertThat(ok.count()).isEqualTo(1000);
+        assertThat(ok.ratePerSecond()).isEqualTo(200.0);
+        assertThat(ok.p50Ms()).isCloseTo(500.0, within(1.0));
+        assertThat(ok.p90Ms()).isCloseTo(900.0, within(1.0));
+        assertThat(ok.p99Ms()).isCloseTo(990.0, within(1.0));
+        assertThat(ok.p999Ms()).isCloseTo(999.0, within(1.0));
+        assertThat(ok.maxMs()).isCloseTo(1000.0, within(1.0));
+        assertThat(window.routes().get("/").get("5xx").count()).isEqualTo(1);
+    }
+
+    @Test
+    void intervalsLeaveEachWindowOnceTheyAreOlderThanIt() {
+        stats.record("/info", 200, TimeUnit.MILLISECONDS.toNanos(3));
+        stats.rotate();
+
+        // 10s at a 5s interval is two intervals; the sample is in the oldest of them now.
+        stats.rotate();
+        assertThat(stats.snapshot().windows().get("10s").routes()).containsKey("/info");
+
+        stats.rotate();
+        RollingLatencyStats.Snapshot snapshot = stats.snapshot();
+        assertThat(snapshot.windows().get("10s").routes()).isEmpty();
+        assertThat(snapshot.windows().get("1m").routes().get("/info").get("2xx").count()).isEqualTo(1);
+        assertThat(snapshot.windows().get("5m").seconds()).isEqualTo(15.0);
+
+        // 1m is twelve intervals, so the thirteenth rotation drops it.
+        for (int i = 0; i < 10; i++) {
+            stats.rotate();
+        }
+        assertThat(stats.snapshot().windows().get("1m").routes()).isEmpty();
+        assertThat(stats.snapshot().windows().get("5m").routes()).containsKey("/info");
+    }
+
+    @Test
+    void unknownRoutesShareTheOverflowSeries() {
+        stats.record("/a", 404, 1_000_000);
+        stats.record("/b", 404, 1_000_000);
+        stats.record(null, 404, 1_000_000);
+        stats.rotate();
+
+        assertThat(stats.snapshot().windows().get("10s").routes())
+            .containsOnlyKeys(HttpServerMetrics.OVERFLOW_PATH)
+            .extractingByKey(HttpServerMetrics.OVERFLOW_PATH)
+            .satisfies(classes -> assertThat(classes.get("4xx").count()).isEqualTo(3));
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        RollingLatencyStats disabled = new RollingLatencyStats(false, Duration.ofSeconds(5), 2);
+        disabled.registerRoutes(List.of("/"));
+        disabled.record("/", 200, 1_000_000);
+        disabled.rotate();
+
+        assertThat(disabled.snapshot().windows().get("10s").routes()).isEmpty();
+    }
+}
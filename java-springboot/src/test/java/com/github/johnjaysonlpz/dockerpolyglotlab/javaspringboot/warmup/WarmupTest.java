@@ -0,0 +1,79 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ReadinessStateHolder;
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.GradientConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+    properties = {
+        "app.warmup.iterations=20",
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.limit=1",
+        "app.rate-limit.period=1m",
+        "app.rate-limit.burst=1",
+        "app.limiter.enabled=true",
+        "app.limiter.initial-limit=1",
+        "app.limiter.min-limit=1",
+        "app.limiter.max-limit=1"
+    }
+)
+class WarmupTest {
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    WarmupTraffic warmupTraffic;
+
+    @Autowired
+    ReadinessStateHolder readiness;
+
+    @Autowired
+    GradientConcurrencyLimiter limiter;
+
+    @DynamicPropertySource
+    static void port(DynamicPropertyRegistry properties) throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            int port = socket.getLocalPort();
+            properties.add("app.port", () -> port);
+        }
+    }
+
+    @Test
+    void warmsUpThroughTheServerBeforeAcceptingTraffic() {
+        assertThat(registry.get("app_warmup_iterations").gauge().value()).isEqualTo(20.0);
+        assertThat(registry.get("app_warmup_requests_total").tag("outcome", "ok").counter().count())
+            .isGreaterThanOrEqualTo(20.0 * 2);
+        assertThat(registry.get("app_warmup_requests_total").tag("outcome", "error").counter().count()).isZero();
+        assertThat(registry.get("app_warmup_duration_seconds").gauge().value()).isPositive();
+        assertThat(readiness.getState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void keepsWarmupRequestsOutOfBusinessMetricsAndRateLimits() {
+        assertThat(registry.find("http_requests_total").counters()).isEmpty();
+        assertThat(registry.find("http.server.requests").timers()).isEmpty();
+        assertThat(registry.get("http_requests_throttled_total").counter().count()).isZero();
+
+        assertThat(warmupTraffic.metrics().seriesCount()).isPositive();
+    }
+
+    @Test
+    void keepsWarmupRequestsOutOfTheConcurrencyLimiter() {
+        // Concurrent warm-up clients against a limit of one would be shed if they took permits.
+        assertThat(limiter.shedCount()).isZero();
+        assertThat(limiter.inflight()).isZero();
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.limiter.GradientConcurrencyLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "app.limiter.enabled=true",
+    "app.limiter.initial-limit=1",
+    "app.limiter.min-limit=1",
+    "app.limiter.max-limit=1",
+    "app.limiter.retry-after=2s"
+})
+@AutoConfigureMockMvc
+class ConcurrencyLimitFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    GradientConcurrencyLimiter limiter;
+
+    private boolean holding;
+
+    @AfterEach
+    void releaseHeldPermit() {
+        if (holding) {
+            limiter.release(0);
+            holding = false;
+        }
+    }
+
+    @Test
+    void releasesThePermitOnceTheRequestCompletes() throws Exception {
+        mockMvc.perform(get("/info")).andExpect(status().isOk());
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+
+        assertThat(limiter.inflight()).isZero();
+    }
+
+    @Test
+    void shedsApplicationRequestsAboveTheLimitButNotInfraPaths() throws Exception {
+        holding = limiter.tryAcquire();
+        assertThat(holding).isTrue();
+        long shedBefore = limiter.shedCount();
+
+        mockMvc.perform(get("/info"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "2"));
+
+        mockMvc.perform(get("/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/ready")).andExpect(status().isOk());
+        mockMvc.perform(get("/metrics")).andExpect(status().isOk());
+
+        assertThat(limiter.shedCount()).isEqualTo(shedBefore + 1);
+        assertThat(limiter.inflight()).isEqualTo(1);
+    }
+}
@@ -1,12 +1,16 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
 
+import java.time.Duration;
 import java.util.List;
 
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +19,14 @@ import org.springframework.boot.availability.ReadinessState;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -68,10 +77,34 @@ class HttpLoggingFilterTest {
     void logsApplicationEndpoints() throws Exception {
         mockMvc.perform(get("/")).andExpect(status().isOk());
 
-        assertThat(appender.list)
-            .isNotEmpty();
+        await().atMost(Duration.ofSeconds(5))
+            .untilAsserted(() -> assertThat(appender.list).isNotEmpty());
 
         String message = appender.list.get(0).getFormattedMessage();
         assertThat(message).contains("http_request");
     }
+
+    @Nested
+    @TestPropertySource(properties = {
+        "app.access-log.sampling.mode=rate",
+        "app.access-log.sampling.success-rate=0"
+    })
+    class WhenSampledOut {
+
+        @Autowired
+        HttpLoggingFilter filter;
+
+        @Test
+        void propagatesExceptionsFromTheChain() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain failing = (req, res) -> {
+                throw new ServletException("handler failed");
+            };
+
+            assertThatThrownBy(() -> filter.doFilter(request, response, failing))
+                .isInstanceOf(ServletException.class)
+                .hasMessage("handler failed");
+        }
+    }
 }
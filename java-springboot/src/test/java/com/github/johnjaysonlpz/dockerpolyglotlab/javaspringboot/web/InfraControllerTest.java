@@ -12,8 +12,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -64,4 +67,38 @@ class InfraControllerTest {
         mockMvc.perform(get("/ready"))
             .andExpect(status().isServiceUnavailable());
     }
+
+    @Test
+    void infoServesPrecomputedLengthAndEtag() throws Exception {
+        String etag = mockMvc.perform(get("/info"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().string("{\"service\":\"java-springboot-app\",\"version\":\"0.0.0-dev\",\"buildTime\":\"unknown\"}"))
+            .andExpect(header().longValue("Content-Length", 77))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+        mockMvc.perform(get("/info").header("If-None-Match", "\"other\", " + etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(content().string(""));
+
+        mockMvc.perform(head("/"))
+            .andExpect(status().isOk())
+            .andExpect(header().longValue("Content-Length", 52))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void nonGetRequestsStillReachTheController() throws Exception {
+        mockMvc.perform(post("/info"))
+            .andExpect(status().isMethodNotAllowed());
+    }
+
+    @Test
+    void profilingIsOffByDefault() throws Exception {
+        mockMvc.perform(post("/debug/profile"))
+            .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,43 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "app.management-connector.enabled=true",
+    "app.management-connector.port=9191"
+})
+@AutoConfigureMockMvc
+class ManagementPortFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void servesInfraPathsOnlyOnTheManagementPort() throws Exception {
+        for (String path : new String[] { "/health", "/ready", "/metrics" }) {
+            mockMvc.perform(get(path).with(port(9191))).andExpect(status().isOk());
+            mockMvc.perform(get(path).with(port(8080))).andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    void servesApplicationPathsOnlyOnTheMainPort() throws Exception {
+        mockMvc.perform(get("/info").with(port(8080))).andExpect(status().isOk());
+        mockMvc.perform(get("/info").with(port(9191))).andExpect(status().isNotFound());
+    }
+
+    private static RequestPostProcessor port(int port) {
+        return request -> {
+            request.setLocalPort(port);
+            return request;
+        };
+    }
+}
@@ -1,14 +1,20 @@
 package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -30,4 +36,67 @@ class MetricsControllerTest {
 
         assertThat(body).contains("http_requests_total");
     }
-}
\ No newline at end of file
+
+    @Test
+    void defaultsToPrometheusTextFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/metrics"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+            .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith("text/plain");
+        assertThat(result.getResponse().getContentLength())
+            .isEqualTo(result.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    void compressesWhenScraperAcceptsGzip() throws Exception {
+        MvcResult result = mockMvc.perform(get("/metrics").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(body).contains("service=\"java-springboot-app\"");
+        }
+    }
+
+    @Test
+    void honoursQValuesAndExactCodingsInAcceptEncoding() throws Exception {
+        for (String refused : new String[] {"gzip;q=0", "x-gzip-foo", "deflate, gzip; q=0.0", "gzip;q=0, *"}) {
+            mockMvc.perform(get("/metrics").header(HttpHeaders.ACCEPT_ENCODING, refused))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        }
+        for (String accepted : new String[] {"deflate, gzip;q=0.5", "GZIP", "br;q=0, *"}) {
+            mockMvc.perform(get("/metrics").header(HttpHeaders.ACCEPT_ENCODING, accepted))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+    }
+
+    @Test
+    void negotiatesOpenMetrics() throws Exception {
+        MvcResult result = mockMvc.perform(get("/metrics")
+                .header(HttpHeaders.ACCEPT, "application/openmetrics-text;version=1.0.0,text/plain;version=0.0.4;q=0.5"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith("application/openmetrics-text");
+        assertThat(result.getResponse().getContentAsString()).endsWith("# EOF\n");
+    }
+
+    @Test
+    void negotiatesProtobuf() throws Exception {
+        MvcResult result = mockMvc.perform(get("/metrics")
+                .header(HttpHeaders.ACCEPT,
+                    "application/vnd.google.protobuf;proto=io.prometheus.client.MetricFamily;encoding=delimited"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith("application/vnd.google.protobuf");
+        assertThat(result.getResponse().getContentAsByteArray()).isNotEmpty();
+    }
+}
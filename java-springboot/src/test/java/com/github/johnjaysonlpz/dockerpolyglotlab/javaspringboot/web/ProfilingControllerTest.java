@@ -0,0 +1,104 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.profiling.JfrProfiler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "app.profiling.enabled=true",
+    "app.profiling.token=secret",
+    "app.profiling.default-duration=1s",
+    "app.profiling.max-duration=5s"
+})
+@AutoConfigureMockMvc
+class ProfilingControllerTest {
+
+    private static final String BEARER = "Bearer secret";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JfrProfiler profiler;
+
+    @Test
+    void requiresTheBearerToken() throws Exception {
+        mockMvc.perform(post("/debug/profile").param("seconds", "1"))
+            .andExpect(status().isUnauthorized())
+            .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+        mockMvc.perform(post("/debug/profile").param("seconds", "1").header(HttpHeaders.AUTHORIZATION, "Bearer nope"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void streamsARecordingAsAJfrFile() throws Exception {
+        byte[] body = mockMvc.perform(post("/debug/profile").param("seconds", "1").header(HttpHeaders.AUTHORIZATION, BEARER))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/octet-stream"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, endsWith(".jfr\"")))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        // Chunk files start with the "FLR\0" magic.
+        assertThat(body).startsWith('F', 'L', 'R', 0);
+    }
+
+    @Test
+    void summarizesCpuAndAllocationHotSpots() throws Exception {
+        String summary = mockMvc.perform(post("/debug/profile/summary")
+                .param("seconds", "1")
+                .param("top", "5")
+                .header(HttpHeaders.AUTHORIZATION, BEARER))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/plain"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(summary)
+            .contains("cpu: top frames by execution samples")
+            .contains("allocation: top sites by sampled bytes")
+            .contains("contention: lock waits over 10ms")
+            .contains("pinning: pinned virtual threads over 20ms");
+    }
+
+    @Test
+    void runsOneRecordingAtATimeWithinTheDurationCap() throws Exception {
+        mockMvc.perform(post("/debug/profile").param("seconds", "6").header(HttpHeaders.AUTHORIZATION, BEARER))
+            .andExpect(status().isBadRequest());
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return mockMvc.perform(post("/debug/profile").param("seconds", "2").header(HttpHeaders.AUTHORIZATION, BEARER))
+                    .andReturn()
+                    .getResponse()
+                    .getStatus();
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!profiler.isRecording() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        mockMvc.perform(post("/debug/profile").param("seconds", "1").header(HttpHeaders.AUTHORIZATION, BEARER))
+            .andExpect(status().isConflict());
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+    }
+}
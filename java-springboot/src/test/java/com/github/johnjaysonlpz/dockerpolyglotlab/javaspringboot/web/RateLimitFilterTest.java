@@ -0,0 +1,83 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "app.rate-limit.enabled=true",
+    "app.rate-limit.limit=1",
+    "app.rate-limit.period=1m",
+    "app.rate-limit.burst=2",
+    "app.rate-limit.client-header=X-Forwarded-For"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Test
+    void throttlesAClientOverItsRateAndCountsThe429() throws Exception {
+        double throttledBefore = throttled();
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/info").header("X-Forwarded-For", "10.0.0.1, 203.0.113.7"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/info").header("X-Forwarded-For", "203.0.113.7"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "60"));
+
+        // Other clients and infra paths are unaffected.
+        mockMvc.perform(get("/info").header("X-Forwarded-For", "203.0.113.8")).andExpect(status().isOk());
+        mockMvc.perform(get("/health").header("X-Forwarded-For", "203.0.113.7")).andExpect(status().isOk());
+
+        assertThat(registry.get("http_requests_total").tag("path", "/info").tag("status", "429").counter().count())
+            .isEqualTo(1.0);
+        assertThat(throttled()).isEqualTo(throttledBefore + 1);
+    }
+
+    @Test
+    void keysOnTheEntryAddedByTheTrustedProxyNotTheSpoofableLeftmostOne() throws Exception {
+        // A client rewriting the leftmost entry on every request is still the same client.
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/").header("X-Forwarded-For", "192.0.2." + i + ", 203.0.113.20"))
+                .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/").header("X-Forwarded-For", "192.0.2.99, 203.0.113.20"))
+            .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void fallsBackToThePeerAddressWithoutTheHeader() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/").with(request -> {
+                request.setRemoteAddr("198.51.100.1");
+                return request;
+            })).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/").with(request -> {
+            request.setRemoteAddr("198.51.100.1");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+    }
+
+    private double throttled() {
+        return registry.get("http_requests_throttled_total").counter().count();
+    }
+}
@@ -0,0 +1,175 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.config.ServiceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestAccountingTest {
+
+    private static final int ALLOCATION = 1 << 20;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/info");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private RequestAccounting accounting;
+
+    @AfterEach
+    void tearDown() {
+        virtualThreads.shutdownNow();
+        if (accounting != null) {
+            accounting.destroy();
+        }
+    }
+
+    @Test
+    void samplesEvenlyAtTheConfiguredRate() {
+        accounting = accounting(0.25, 2);
+
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (accounting.sample() != null) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isEqualTo(25);
+
+        ServiceProperties disabled = new ServiceProperties();
+        disabled.getRequestAccounting().setSampleRate(1.0);
+        assertThat(new RequestAccounting(disabled, registry).sample()).isNull();
+    }
+
+    @Test
+    void measuresInPlaceOnPlatformThreads() throws Exception {
+        accounting = accounting(1.0, 2);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        RequestAccounting.Usage usage = accounting.sample();
+        accounting.measure(usage, request, response, allocating(ranOn));
+
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(usage.allocatedBytes).isGreaterThanOrEqualTo(ALLOCATION);
+        assertThat(usage.cpuNanos).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void measuresVirtualThreadRequestsOnAPlatformThread() throws Exception {
+        accounting = accounting(1.0, 2);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        RequestAccounting.Usage usage = onVirtualThread(() -> {
+            RequestAccounting.Usage sampled = accounting.sample();
+            accounting.measure(sampled, request, response, allocating(ranOn));
+            return sampled;
+        }).get(10, TimeUnit.SECONDS);
+
+        assertThat(ranOn.get().isVirtual()).isFalse();
+        assertThat(ranOn.get().getName()).startsWith("request-accounting-");
+        assertThat(usage.allocatedBytes).isGreaterThanOrEqualTo(ALLOCATION);
+        assertThat(usage.cpuNanos).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void runsUnmeasuredWhileEveryAccountingThreadIsBusy() throws Exception {
+        accounting = accounting(1.0, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<RequestAccounting.Usage> blocked = onVirtualThread(() -> {
+            RequestAccounting.Usage usage = accounting.sample();
+            accounting.measure(usage, request, response, (req, res) -> {
+                entered.countDown();
+                awaitUninterruptibly(release);
+            });
+            return usage;
+        });
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        RequestAccounting.Usage skipped = onVirtualThread(() -> {
+            RequestAccounting.Usage usage = accounting.sample();
+            accounting.measure(usage, request, response, allocating(ranOn));
+            return usage;
+        }).get(10, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(ranOn.get().isVirtual()).isTrue();
+        assertThat(skipped.allocatedBytes).isEqualTo(-1);
+        assertThat(skipped.cpuNanos).isEqualTo(-1);
+        assertThat(registry.get("http_request_accounting_skipped_total").counter().count()).isEqualTo(1.0);
+        assertThat(blocked.get(10, TimeUnit.SECONDS).cpuNanos).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void rethrowsChainFailuresAfterMeasuring() throws Exception {
+        accounting = accounting(1.0, 2);
+        RequestAccounting.Usage usage = accounting.sample();
+
+        Future<?> failed = onVirtualThread(() -> {
+            assertThatThrownBy(() -> accounting.measure(usage, request, response, (req, res) -> {
+                throw new IOException("broken pipe");
+            })).isInstanceOf(IOException.class).hasMessage("broken pipe");
+            return null;
+        });
+        failed.get(10, TimeUnit.SECONDS);
+
+        assertThat(usage.allocatedBytes).isGreaterThanOrEqualTo(0);
+    }
+
+    private RequestAccounting accounting(double sampleRate, int platformThreads) {
+        ServiceProperties props = new ServiceProperties();
+        props.getRequestAccounting().setEnabled(true);
+        props.getRequestAccounting().setSampleRate(sampleRate);
+        props.getRequestAccounting().setPlatformThreads(platformThreads);
+        return new RequestAccounting(props, registry);
+    }
+
+    private static FilterChain allocating(AtomicReference<Thread> ranOn) {
+        return (req, res) -> {
+            ranOn.set(Thread.currentThread());
+            byte[] body = new byte[ALLOCATION];
+            ((MockHttpServletResponse) res).setContentLength(body.length);
+        };
+    }
+
+    private <T> Future<T> onVirtualThread(VirtualTask<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        virtualThreads.execute(() -> {
+            try {
+                result.complete(task.run());
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface VirtualTask<T> {
+        T run() throws Exception;
+    }
+}
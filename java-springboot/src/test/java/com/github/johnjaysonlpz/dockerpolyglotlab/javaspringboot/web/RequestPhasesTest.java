@@ -0,0 +1,69 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot;
+import io.prometheus.metrics.model.snapshots.HistogramSnapshot.HistogramDataPointSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Through a real connector: the queue phase starts in Tomcat, which MockMvc skips.
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+    properties = {
+        "app.warmup.enabled=false",
+        "app.infra-fast-path=false"
+    }
+)
+class RequestPhasesTest {
+
+    private static int port;
+
+    @Autowired
+    PrometheusRegistry registry;
+
+    @DynamicPropertySource
+    static void port(DynamicPropertyRegistry properties) throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+            properties.add("app.port", () -> port);
+        }
+    }
+
+    @Test
+    void recordsQueueHandlerAndWritePhasesPerRoute() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/info")).build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        for (String phase : new String[] { "queue", "handler", "write" }) {
+            assertThat(phase(phase).getCount()).as(phase).isEqualTo(1);
+        }
+        assertThat(phase("queue").getSum()).isPositive();
+        assertThat(phase("queue").getLabels().get("service")).isEqualTo("java-springboot-app");
+    }
+
+    private HistogramDataPointSnapshot phase(String phase) {
+        HistogramSnapshot snapshot = (HistogramSnapshot) registry
+            .scrape("http_request_phase_seconds"::equals)
+            .get(0);
+        return snapshot.getDataPoints().stream()
+            .filter(point -> "/info".equals(point.getLabels().get("path")))
+            .filter(point -> phase.equals(point.getLabels().get("phase")))
+            .findFirst()
+            .orElseThrow();
+    }
+}
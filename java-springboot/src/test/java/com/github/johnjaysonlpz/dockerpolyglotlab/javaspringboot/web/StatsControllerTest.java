@@ -0,0 +1,52 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.web;
+
+import com.github.johnjaysonlpz.dockerpolyglotlab.javaspringboot.stats.RollingLatencyStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatsControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    RollingLatencyStats stats;
+
+    @Test
+    void servesCompletedIntervalsPerRouteAndStatusClass() throws Exception {
+        mockMvc.perform(get("/info")).andExpect(status().isOk());
+        mockMvc.perform(get("/does-not-exist")).andExpect(status().isNotFound());
+        stats.rotate();
+
+        mockMvc.perform(get("/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.intervalSeconds").value(5.0))
+            .andExpect(jsonPath("$.windows['10s'].routes['/info']['2xx'].count").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$.windows['10s'].routes['__other__']['4xx'].p99Ms").exists())
+            .andExpect(jsonPath("$.windows['5m'].routes['/info']['2xx'].ratePerSecond").exists());
+    }
+
+    @Test
+    void leavesInfraPathsOut() throws Exception {
+        mockMvc.perform(get("/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/metrics")).andExpect(status().isOk());
+        mockMvc.perform(get("/stats")).andExpect(status().isOk());
+        stats.rotate();
+
+        mockMvc.perform(get("/stats"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.windows['10s'].routes['/health']").doesNotExist())
+            .andExpect(jsonPath("$.windows['10s'].routes['/metrics']").doesNotExist())
+            .andExpect(jsonPath("$.windows['10s'].routes['/stats']").doesNotExist());
+    }
+}
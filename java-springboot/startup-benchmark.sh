@@ -0,0 +1,86 @@
+#!/usr/bin/env sh
+# Starts the service repeatedly in each startup mode and reports time-to-ready, taken from the
+# ready_ms field (JVM uptime) of the starting_server log event:
+#
+#   jar      fat jar, no AOT, no CDS (the image before startup tuning)
+#   cds      extracted jar + AppCDS archive
+#   aot      extracted jar + Spring AOT
+#   aot+cds  extracted jar + Spring AOT + AppCDS archive (what the image runs)
+#
+#   ./startup-benchmark.sh                 # defaults below
+#   RUNS=20 MODES="jar aot+cds" ./startup-benchmark.sh
+#   SKIP_BUILD=true ./startup-benchmark.sh  # reuse an existing -Paot jar
+#
+# Warm-up is disabled so the numbers isolate JVM and context startup; set WARMUP_ENABLED=true
+# to include it.
+set -eu
+
+cd "$(dirname "$0")"
+
+RUNS="${RUNS:-10}"
+MODES="${MODES:-jar cds aot aot+cds}"
+PORT="${PORT:-18080}"
+WORK="target/startup"
+JAR="target/java-springboot-1.0.0.jar"
+
+export PORT
+export WARMUP_ENABLED="${WARMUP_ENABLED:-false}"
+
+if [ ! -f "${JAR}" ] || [ "${SKIP_BUILD:-false}" != "true" ]; then
+  ./mvnw -B -q -Paot -DskipTests package
+fi
+
+rm -rf "${WORK}"
+java -Djarmode=tools -jar "${JAR}" extract --destination "${WORK}/app"
+APP_JAR="${WORK}/app/$(basename "${JAR}")"
+
+# Training runs: refresh the context (no server start, no traffic) and dump the loaded classes.
+# Each archive must be used with the same classpath and the same spring.aot.enabled setting.
+java -XX:ArchiveClassesAtExit="${WORK}/cds.jsa" -Dspring.context.exit=onRefresh \
+  -jar "${APP_JAR}" > "${WORK}/train-cds.log" 2>&1
+java -XX:ArchiveClassesAtExit="${WORK}/aot-cds.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+  -jar "${APP_JAR}" > "${WORK}/train-aot-cds.log" 2>&1
+
+start_once() {
+  log="$1"
+  shift
+  : > "${log}"
+  java "$@" >> "${log}" 2>&1 &
+  pid=$!
+  waited=0
+  while ! grep -q starting_server "${log}"; do
+    if ! kill -0 "${pid}" 2>/dev/null || [ "${waited}" -ge 600 ]; then
+      kill "${pid}" 2>/dev/null || true
+      echo "startup failed, see ${log}" >&2
+      exit 1
+    fi
+    sleep 0.1
+    waited=$((waited + 1))
+  done
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  grep -o 'ready_ms=[0-9]*' "${log}" | head -n 1 | cut -d= -f2
+}
+
+printf '%-8s %6s %8s %8s %8s\n' mode runs min_ms p50_ms max_ms
+for mode in ${MODES}; do
+  case "${mode}" in
+    jar) set -- -jar "${JAR}" ;;
+    cds) set -- -XX:SharedArchiveFile="${WORK}/cds.jsa" -jar "${APP_JAR}" ;;
+    aot) set -- -Dspring.aot.enabled=true -jar "${APP_JAR}" ;;
+    aot+cds) set -- -XX:SharedArchiveFile="${WORK}/aot-cds.jsa" -Dspring.aot.enabled=true -jar "${APP_JAR}" ;;
+    *) echo "unknown mode ${mode}" >&2; exit 1 ;;
+  esac
+
+  : > "${WORK}/${mode}.samples"
+  i=0
+  while [ "${i}" -lt "${RUNS}" ]; do
+    start_once "${WORK}/${mode}-${i}.log" "$@" >> "${WORK}/${mode}.samples"
+    i=$((i + 1))
+  done
+
+  sort -n "${WORK}/${mode}.samples" | awk -v mode="${mode}" '
+    { v[NR] = $1 }
+    END { printf "%-8s %6d %8d %8d %8d\n", mode, NR, v[1], v[int((NR + 1) / 2)], v[NR] }
+  '
+done
@@ -0,0 +1,36 @@
+#!/usr/bin/env sh
+# Runs the same open-loop scenarios against all three services as published by
+# docker/compose.dev.yml (Gin :8081, Spring Boot :8082, Django :8083) and collects the
+# reports under results/<timestamp>/.
+#
+#   ./run-all.sh                     # defaults below
+#   RATE=2000 DURATION=60s ./run-all.sh
+set -eu
+
+cd "$(dirname "$0")"
+
+RATE="${RATE:-1000}"
+DURATION="${DURATION:-30s}"
+WARMUP="${WARMUP:-10s}"
+SCENARIOS="${SCENARIOS:-root,info,health,metrics}"
+OUT="${OUT:-results/$(date -u +%Y%m%dT%H%M%SZ)}"
+
+if [ ! -f target/loadgen.jar ]; then
+  mvn -B -q -DskipTests package
+fi
+
+for target in golang-gin:8081 java-springboot:8082 python-django:8083; do
+  service="${target%%:*}"
+  port="${target##*:}"
+  echo "==> ${service} (127.0.0.1:${port})"
+  java -jar target/loadgen.jar \
+    --target "http://127.0.0.1:${port}" \
+    --service "${service}" \
+    --rate "${RATE}" \
+    --duration "${DURATION}" \
+    --warmup "${WARMUP}" \
+    --scenarios "${SCENARIOS}" \
+    --out "${OUT}"
+done
+
+echo "Reports written to ${OUT} (summary: ${OUT}/summary.csv)"
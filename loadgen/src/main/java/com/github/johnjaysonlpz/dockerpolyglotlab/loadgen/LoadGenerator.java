@@ -0,0 +1,40 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.io.IOException;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException ex) {
+            System.err.println("error: " + ex.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        OpenLoopRunner runner = new OpenLoopRunner(options.target(), options.timeout());
+        ReportWriter reports = new ReportWriter(options.outputDirectory(), options.service());
+
+        System.out.println(ReportWriter.SUMMARY_HEADER);
+        for (Scenario scenario : options.scenarios()) {
+            if (!options.warmup().isZero()) {
+                runner.run(scenario, options.rate(), options.warmup(), null);
+            }
+            HistogramLogWriter log = reports.openIntervalLog(scenario);
+            try {
+                OpenLoopRunner.RunResult result = runner.run(scenario, options.rate(), options.duration(), log);
+                System.out.println(reports.write(result));
+            } finally {
+                log.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+public record LoadOptions(
+    URI target,
+    String service,
+    int rate,
+    Duration duration,
+    Duration warmup,
+    Duration timeout,
+    List<Scenario> scenarios,
+    Path outputDirectory
+) {
+
+    static final String USAGE = """
+        usage: java -jar loadgen.jar --target http://127.0.0.1:8082 --service java-springboot [options]
+          --rate <n>          requests per second, constant arrival rate (default 1000)
+          --duration <d>      measured duration per scenario, e.g. 30s, 2m (default 30s)
+          --warmup <d>        unrecorded warm-up per scenario (default 10s)
+          --timeout <d>       per-request timeout (default 2s)
+          --scenarios <list>  comma-separated: root,info,health,metrics,mixed (default root,info,health,metrics)
+          --out <dir>         report directory (default results)
+        """;
+
+    public LoadOptions {
+        if (rate < 1) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("--duration must be positive");
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("--scenarios must name at least one scenario");
+        }
+        requireLoopback(target);
+    }
+
+    public static LoadOptions parse(String[] args) {
+        URI target = null;
+        String service = null;
+        int rate = 1000;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(10);
+        Duration timeout = Duration.ofSeconds(2);
+        List<Scenario> scenarios = List.of(Scenario.ROOT, Scenario.INFO, Scenario.HEALTH, Scenario.METRICS);
+        Path out = Path.of("results");
+
+        for (int i = 0; i < args.length; i++) {
+            String flag = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + flag);
+            }
+            String value = args[++i];
+            switch (flag) {
+                case "--target" -> target = URI.create(value);
+                case "--service" -> service = value;
+                case "--rate" -> rate = Integer.parseInt(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--timeout" -> timeout = parseDuration(value);
+                case "--scenarios" -> {
+                    List<Scenario> parsed = new ArrayList<>();
+                    for (String id : value.split(",")) {
+                        parsed.add(Scenario.fromId(id));
+                    }
+                    scenarios = List.copyOf(parsed);
+                }
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + flag);
+            }
+        }
+
+        if (target == null || service == null || service.isBlank()) {
+            throw new IllegalArgumentException("--target and --service are required");
+        }
+        return new LoadOptions(target, service, rate, duration, warmup, timeout, scenarios, out);
+    }
+
+    // Accepts "250ms", "30s", "2m" and ISO-8601 ("PT30S").
+    static Duration parseDuration(String value) {
+        String v = value.trim();
+        if (v.startsWith("P") || v.startsWith("p")) {
+            return Duration.parse(v);
+        }
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+
+    // The generator is meant for locally started services only; refuse anything that would leave the host.
+    private static void requireLoopback(URI target) {
+        if (target == null || target.getHost() == null || !"http".equals(target.getScheme())) {
+            throw new IllegalArgumentException("--target must be an http:// URL, got " + target);
+        }
+        try {
+            for (InetAddress address : InetAddress.getAllByName(target.getHost())) {
+                if (!address.isLoopbackAddress()) {
+                    throw new IllegalArgumentException(
+                        "--target must resolve to a loopback address, " + target.getHost() + " resolves to " + address);
+                }
+            }
+        } catch (UnknownHostException ex) {
+            throw new IllegalArgumentException("Cannot resolve " + target.getHost(), ex);
+        }
+    }
+}
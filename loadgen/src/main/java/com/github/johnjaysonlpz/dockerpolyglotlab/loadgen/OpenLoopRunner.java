@@ -0,0 +1,131 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+// Constant-arrival-rate driver. Request i is due at start + i / rate regardless of how earlier
+// requests are doing, and each one runs on its own virtual thread, so a slow server cannot slow
+// the generator down. Response time is measured from the due time rather than from when the
+// request was actually sent, which is what removes coordinated omission: a stall shows up as
+// latency for every request that should have been sent during it. Service time (from actual
+// send) is recorded alongside for comparison. Values are recorded in microseconds.
+public final class OpenLoopRunner {
+
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HttpClient client;
+    private final URI base;
+    private final Duration timeout;
+
+    public OpenLoopRunner(URI base, Duration timeout) {
+        this.base = base;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    }
+
+    public RunResult run(Scenario scenario, int rate, Duration duration, HistogramLogWriter log)
+        throws InterruptedException {
+
+        Recorder responseRecorder = new Recorder(3);
+        Recorder serviceRecorder = new Recorder(3);
+        Histogram responseTime = new Histogram(3);
+        Histogram serviceTime = new Histogram(3);
+        LongAdder errors = new LongAdder();
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long durationNanos = duration.toNanos();
+        long startMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        long nextLog = start + LOG_INTERVAL_NANOS;
+        long sent = 0;
+
+        if (log != null) {
+            log.outputStartTime(startMillis);
+            log.setBaseTime(startMillis);
+        }
+
+        Histogram interval = null;
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long due = start + i * intervalNanos;
+                if (due - start >= durationNanos) {
+                    break;
+                }
+                long now;
+                while ((now = System.nanoTime()) < due) {
+                    LockSupport.parkNanos(due - now);
+                }
+                if (now >= nextLog) {
+                    interval = drain(responseRecorder, interval, responseTime, log);
+                    nextLog += LOG_INTERVAL_NANOS;
+                }
+
+                URI uri = base.resolve(scenario.path(i));
+                requests.execute(() -> send(uri, due, responseRecorder, serviceRecorder, errors));
+                sent++;
+            }
+            requests.shutdown();
+            requests.awaitTermination(timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        }
+        drain(responseRecorder, interval, responseTime, log);
+        serviceTime.add(serviceRecorder.getIntervalHistogram());
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        return new RunResult(scenario, rate, sent, errors.sum(), sent / elapsedSeconds, responseTime, serviceTime);
+    }
+
+    private void send(URI uri, long due, Recorder responseRecorder, Recorder serviceRecorder, LongAdder errors) {
+        long sentAt = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.increment();
+            }
+        } catch (IOException ex) {
+            errors.increment();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            errors.increment();
+        }
+        long done = System.nanoTime();
+        responseRecorder.recordValue(TimeUnit.NANOSECONDS.toMicros(done - due));
+        serviceRecorder.recordValue(TimeUnit.NANOSECONDS.toMicros(done - sentAt));
+    }
+
+    private static Histogram drain(Recorder recorder, Histogram recycle, Histogram total, HistogramLogWriter log) {
+        Histogram interval = recorder.getIntervalHistogram(recycle);
+        total.add(interval);
+        if (log != null) {
+            log.outputIntervalHistogram(interval);
+        }
+        return interval;
+    }
+
+    public record RunResult(
+        Scenario scenario,
+        int targetRate,
+        long requests,
+        long errors,
+        double achievedRate,
+        Histogram responseTime,
+        Histogram serviceTime
+    ) { }
+}
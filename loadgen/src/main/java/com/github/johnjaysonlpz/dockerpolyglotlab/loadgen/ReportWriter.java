@@ -0,0 +1,87 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+// Per service and scenario: <out>/<service>/<scenario>.hlog (interval HDR log, readable by
+// HistogramLogProcessor / HdrHistogramVisualizer) and <scenario>.hgrm (percentile distribution in
+// milliseconds, plottable with the HdrHistogram plotter). Every run also appends one row to
+// <out>/summary.csv so services and releases line up in a single table.
+public final class ReportWriter {
+
+    static final String SUMMARY_HEADER =
+        "service,scenario,target_rps,achieved_rps,requests,errors,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms";
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Path outputDirectory;
+    private final String service;
+
+    public ReportWriter(Path outputDirectory, String service) {
+        this.outputDirectory = outputDirectory;
+        this.service = service;
+    }
+
+    public HistogramLogWriter openIntervalLog(Scenario scenario) throws IOException {
+        Path serviceDirectory = Files.createDirectories(outputDirectory.resolve(service));
+        HistogramLogWriter log = new HistogramLogWriter(serviceDirectory.resolve(scenario.id() + ".hlog").toFile());
+        log.outputComment("service=" + service + " scenario=" + scenario.id() + " unit=microseconds");
+        log.outputLogFormatVersion();
+        log.outputLegend();
+        return log;
+    }
+
+    public String write(OpenLoopRunner.RunResult result) throws IOException {
+        Path serviceDirectory = Files.createDirectories(outputDirectory.resolve(service));
+        writeDistribution(serviceDirectory.resolve(result.scenario().id() + ".hgrm"), result.responseTime());
+        writeDistribution(serviceDirectory.resolve(result.scenario().id() + "-service-time.hgrm"), result.serviceTime());
+
+        String row = summaryRow(result);
+        Path summary = outputDirectory.resolve("summary.csv");
+        if (Files.notExists(summary)) {
+            Files.writeString(summary, SUMMARY_HEADER + "\n", StandardCharsets.UTF_8);
+        }
+        Files.writeString(summary, row + "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        return row;
+    }
+
+    String summaryRow(OpenLoopRunner.RunResult result) {
+        Histogram h = result.responseTime();
+        return String.join(",",
+            service,
+            result.scenario().id(),
+            Integer.toString(result.targetRate()),
+            format(result.achievedRate()),
+            Long.toString(result.requests()),
+            Long.toString(result.errors()),
+            millis(h, 50.0),
+            millis(h, 90.0),
+            millis(h, 99.0),
+            millis(h, 99.9),
+            format(h.getMaxValue() / MICROS_PER_MILLI),
+            millis(result.serviceTime(), 99.0)
+        );
+    }
+
+    private static void writeDistribution(Path path, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(path.toFile(), StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private static String millis(Histogram histogram, double percentile) {
+        return format(histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
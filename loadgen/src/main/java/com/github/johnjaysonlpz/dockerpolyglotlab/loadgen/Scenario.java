@@ -0,0 +1,31 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.util.List;
+import java.util.Locale;
+
+public enum Scenario {
+    ROOT("/"),
+    INFO("/info"),
+    HEALTH("/health"),
+    METRICS("/metrics"),
+    // Round-robin over the application and probe endpoints, roughly what a pod sees in production.
+    MIXED("/", "/info", "/health", "/ready");
+
+    private final List<String> paths;
+
+    Scenario(String... paths) {
+        this.paths = List.of(paths);
+    }
+
+    public String path(long sequence) {
+        return paths.get((int) (sequence % paths.size()));
+    }
+
+    public String id() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Scenario fromId(String id) {
+        return valueOf(id.trim().toUpperCase(Locale.ROOT));
+    }
+}
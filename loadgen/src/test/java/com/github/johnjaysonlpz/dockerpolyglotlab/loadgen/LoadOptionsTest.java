@@ -0,0 +1,47 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadOptionsTest {
+
+    @Test
+    void parsesOptionsAndDefaults() {
+        LoadOptions options = LoadOptions.parse(new String[] {
+            "--target", "http://127.0.0.1:8082",
+            "--service", "java-springboot",
+            "--rate", "500",
+            "--duration", "1m",
+            "--scenarios", "root,mixed"
+        });
+
+        assertEquals(500, options.rate());
+        assertEquals(Duration.ofMinutes(1), options.duration());
+        assertEquals(Duration.ofSeconds(10), options.warmup());
+        assertEquals(List.of(Scenario.ROOT, Scenario.MIXED), options.scenarios());
+    }
+
+    @Test
+    void rejectsNonLoopbackTargets() {
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[] {
+            "--target", "http://10.1.2.3:8080",
+            "--service", "remote"
+        }));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse(new String[] {
+            "--target", "https://127.0.0.1:8443",
+            "--service", "tls"
+        }));
+    }
+
+    @Test
+    void parsesDurations() {
+        assertEquals(Duration.ofMillis(250), LoadOptions.parseDuration("250ms"));
+        assertEquals(Duration.ofSeconds(30), LoadOptions.parseDuration("30s"));
+        assertEquals(Duration.ofSeconds(45), LoadOptions.parseDuration("PT45S"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.johnjaysonlpz.dockerpolyglotlab.loadgen;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.HdrHistogram.HistogramLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpenLoopRunnerTest {
+
+    @TempDir
+    Path out;
+
+    private HttpServer server;
+    private volatile CountDownLatch stall = new CountDownLatch(0);
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", exchange -> {
+            try {
+                stall.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsAtTheTargetRateAndWritesReports() throws Exception {
+        OpenLoopRunner runner = new OpenLoopRunner(base(), Duration.ofSeconds(2));
+        ReportWriter reports = new ReportWriter(out, "test-service");
+
+        HistogramLogWriter log = reports.openIntervalLog(Scenario.ROOT);
+        OpenLoopRunner.RunResult result;
+        try {
+            result = runner.run(Scenario.ROOT, 200, Duration.ofSeconds(1), log);
+        } finally {
+            log.close();
+        }
+        reports.write(result);
+
+        assertEquals(200, result.requests());
+        assertEquals(0, result.errors());
+        assertEquals(200, result.responseTime().getTotalCount());
+        assertTrue(Files.size(out.resolve("test-service/root.hlog")) > 0);
+        assertTrue(Files.exists(out.resolve("test-service/root.hgrm")));
+        List<String> summary = Files.readAllLines(out.resolve("summary.csv"));
+        assertEquals(ReportWriter.SUMMARY_HEADER, summary.get(0));
+        assertTrue(summary.get(1).startsWith("test-service,root,200,"));
+    }
+
+    @Test
+    void chargesServerStallsToEveryRequestThatWasDueDuringThem() throws Exception {
+        OpenLoopRunner runner = new OpenLoopRunner(base(), Duration.ofSeconds(5));
+
+        CountDownLatch latch = new CountDownLatch(1);
+        stall = latch;
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                latch.countDown();
+            }
+        });
+        OpenLoopRunner.RunResult result = runner.run(Scenario.ROOT, 100, Duration.ofSeconds(1), null);
+
+        // Requests due in the first half second all completed when the stall ended, so their
+        // response times spread from ~500ms down to ~0: p75 is around 250ms. A closed-loop
+        // client would have recorded a single slow request instead.
+        assertEquals(100, result.requests());
+        assertEquals(0, result.errors());
+        assertTrue(result.responseTime().getValueAtPercentile(75) >= 200_000,
+            "p75 response time " + result.responseTime().getValueAtPercentile(75) + "us");
+        assertTrue(result.responseTime().getMaxValue() >= 450_000);
+    }
+
+    private URI base() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+}